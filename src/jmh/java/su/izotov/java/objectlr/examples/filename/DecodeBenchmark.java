@@ -0,0 +1,68 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameRecognizer;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * restoring of text from file name by StringFileName.toTextRepresentation(), by the
+ * language recognition for the reference, and by the same senses, which are concatenated
+ * through the table of rules instead of the reflection
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DecodeBenchmark {
+  @Param({"PLAIN", "TOKENS", "UNDERSCORES", "LONG", "NON_LATIN"})
+  private Profile profile;
+  private String[] fileNames;
+  private int next;
+
+  @Setup public void setUp() {
+    final String[] texts = this.profile.texts();
+    this.fileNames = new String[texts.length];
+    for (int i = 0; i < texts.length; i++) {
+      this.fileNames[i] = new TextFileName(texts[i]).toStringRepresentation();
+    }
+  }
+
+  private String fileName() {
+    final String fileName = this.fileNames[this.next];
+    this.next = (this.next + 1) % this.fileNames.length;
+    return fileName;
+  }
+
+  @Benchmark public String decode()
+      throws RecognitionException {
+    return new StringFileName(this.fileName()).toTextRepresentation();
+  }
+
+  @Benchmark public String recognize()
+      throws RecognitionException {
+    return new RecognizedFileName(this.fileName()).toTextRepresentation();
+  }
+
+  @Benchmark public String dispatch()
+      throws RecognitionException {
+    return FileNameRecognizer.recognize(this.fileName()).toTextRepresentation();
+  }
+}
@@ -0,0 +1,45 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * conversion of text into file name by TextFileName.toStringRepresentation()
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EncodeBenchmark {
+  @Param({"PLAIN", "TOKENS", "UNDERSCORES", "LONG", "NON_LATIN"})
+  private Profile profile;
+  private String[] texts;
+  private int next;
+
+  @Setup public void setUp() {
+    this.texts = this.profile.texts();
+  }
+
+  @Benchmark public String encode() {
+    final String text = this.texts[this.next];
+    this.next = (this.next + 1) % this.texts.length;
+    return new TextFileName(text).toStringRepresentation();
+  }
+}
@@ -0,0 +1,63 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.util.Random;
+
+/**
+ * the profiles of benchmark inputs. Every profile gives a set of texts, which are converted
+ * in turn, to avoid the benchmark of one constant string
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public enum Profile {
+  /**
+   * ordinary names without special characters
+   */
+  PLAIN(24, "report", "2018", "final", "photo", "-", ".", "v", "draft", "data", " "),
+  /**
+   * names, where most of characters are replaced by tokens
+   */
+  TOKENS(24, "*", "|", "\\", ":", "\"", "<", ">", "?", "/", "\n", "a"),
+  /**
+   * names with many special characters and token representations, entered by user
+   */
+  UNDERSCORES(24, "_", "__", "snake_case", "(STAR)", "(SLASH)", "_(PIPE)", "x"),
+  /**
+   * names of several kilobytes with hundreds of tokens
+   */
+  LONG(2000, "segment", "/", ":", "name", "_", ".", "(COLON)", "part"),
+  /**
+   * names in cyrillic and chinese scripts
+   */
+  NON_LATIN(24, "\u0438\u043c\u044f", "\u0444\u0430\u0439\u043b\u0430",
+      "\u6587\u4ef6", "\u540d\u79f0", " ", ".", "?");
+
+  /**
+   * the count of texts in the profile
+   */
+  public static final int SIZE = 64;
+  private final int pieces;
+  private final String[] alphabet;
+
+  Profile(final int pieces, final String... alphabet) {
+    this.pieces = pieces;
+    this.alphabet = alphabet;
+  }
+
+  /**
+   * @return texts of the profile, they are the same for every run
+   */
+  public String[] texts() {
+    final Random random = new Random(this.ordinal());
+    final String[] texts = new String[SIZE];
+    for (int n = 0; n < SIZE; n++) {
+      final StringBuilder text = new StringBuilder();
+      for (int i = 0; i < this.pieces; i++) {
+        text.append(this.alphabet[random.nextInt(this.alphabet.length)]);
+      }
+      texts[n] = text.toString();
+    }
+    return texts;
+  }
+}
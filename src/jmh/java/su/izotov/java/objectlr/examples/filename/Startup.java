@@ -0,0 +1,102 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the time of the start of the filter and the latency of its first conversion, measured
+ * outside of the process, as the jobs, which convert a few names, see it. The start is the
+ * time of the run with the empty input, the first conversion is the time from the start of
+ * the process until the first name is written.
+ * <pre>
+ * Startup runs label command... [-- label command...]
+ * </pre>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class Startup {
+  private static final byte[] NAME = "report 2018: draft*\n".getBytes(StandardCharsets.UTF_8);
+
+  private Startup() {
+  }
+
+  public static void main(final String[] args)
+      throws IOException, InterruptedException {
+    final int runs = Integer.parseInt(args[0]);
+    System.out.println("variant       start, ms (min / median)   first name, ms (min / median)");
+    int from = 1;
+    while (from < args.length) {
+      int to = from;
+      while (to < args.length && !"--".equals(args[to])) {
+        to++;
+      }
+      final String label = args[from];
+      final List<String> command = new ArrayList<>(Arrays.asList(args).subList(from + 1, to));
+      command.add("encode");
+      final long[] starts = new long[runs];
+      final long[] firsts = new long[runs];
+      // the first runs warm up the caches of the files
+      for (int i = -2; i < runs; i++) {
+        final long start = run(command, false);
+        final long first = run(command, true);
+        if (i >= 0) {
+          starts[i] = start;
+          firsts[i] = first;
+        }
+      }
+      System.out.printf("%-12s  %8.1f / %-8.1f            %8.1f / %-8.1f%n", label,
+                        min(starts), median(starts), min(firsts), median(firsts));
+      from = to + 1;
+    }
+  }
+
+  /**
+   * @param name true, if the name is written and the time until its conversion is measured,
+   * otherwise the time until the end of the process
+   * @return nanoseconds
+   */
+  private static long run(final List<String> command, final boolean name)
+      throws IOException, InterruptedException {
+    final long start = System.nanoTime();
+    final Process process = new ProcessBuilder(command)
+        .redirectError(ProcessBuilder.Redirect.INHERIT)
+        .start();
+    try (OutputStream input = process.getOutputStream()) {
+      if (name) {
+        input.write(NAME);
+      }
+    }
+    long elapsed = 0L;
+    try (InputStream output = process.getInputStream()) {
+      int c = output.read();
+      while (c >= 0 && c != '\n') {
+        c = output.read();
+      }
+      if (name) {
+        elapsed = System.nanoTime() - start;
+      }
+    }
+    if (!process.waitFor(1L, TimeUnit.MINUTES) || process.exitValue() != 0) {
+      throw new IllegalStateException("The filter is failed: " + command);
+    }
+    return name ? elapsed : System.nanoTime() - start;
+  }
+
+  private static double min(final long[] times) {
+    return Arrays.stream(times).min().orElse(0L) / 1e6;
+  }
+
+  private static double median(final long[] times) {
+    final long[] sorted = times.clone();
+    Arrays.sort(sorted);
+    return sorted[sorted.length / 2] / 1e6;
+  }
+}
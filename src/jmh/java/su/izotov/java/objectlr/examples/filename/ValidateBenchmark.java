@@ -0,0 +1,92 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.DecodeResult;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameDecoder;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameEncoder;
+import su.izotov.java.objectlr.examples.filename.lang.InvalidFileNameException;
+
+/**
+ * validation of untrusted names, most of which are not made by the encoder: the recognition
+ * with the exception for a rejected name, the result object, the check without allocation
+ * and the stackless exception
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidateBenchmark {
+  /**
+   * the share of invalid names in percents
+   */
+  @Param({"0", "50", "90"})
+  private int invalid;
+  private String[] names;
+  private int next;
+
+  @Setup public void setUp() {
+    final String[] texts = Profile.TOKENS.texts();
+    this.names = new String[texts.length];
+    for (int i = 0; i < texts.length; i++) {
+      final String name = FileNameEncoder.encode(texts[i]);
+      if (i * 100 >= this.invalid * texts.length) {
+        this.names[i] = name;
+      } else if (i % 3 == 0) {
+        // a dangling special character is rejected by the recognition
+        this.names[i] = name + '_';
+      } else if (i % 3 == 1) {
+        this.names[i] = name + '*';
+      } else {
+        this.names[i] = "_x" + name;
+      }
+    }
+  }
+
+  private String name() {
+    final String name = this.names[this.next];
+    this.next = (this.next + 1) % this.names.length;
+    return name;
+  }
+
+  @Benchmark public String recognize() {
+    try {
+      return new StringFileName(this.name()).toTextRepresentation();
+    } catch (final RecognitionException e) {
+      return null;
+    }
+  }
+
+  @Benchmark public DecodeResult tryDecode() {
+    return FileNameDecoder.tryDecode(this.name());
+  }
+
+  @Benchmark public boolean isValidEncoded() {
+    return FileNameDecoder.isValidEncoded(this.name());
+  }
+
+  @Benchmark public String textOrThrow() {
+    try {
+      return FileNameDecoder.tryDecode(this.name()).textOrThrow();
+    } catch (final InvalidFileNameException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * the search of special characters in names without them: the scalar bitmask search and
+ * the search of the current runtime, which uses the vector API, if the benchmark is run
+ * with --add-modules jdk.incubator.vector on Java 17 or later
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ScanBenchmark {
+  @Param({"16", "64", "256", "4096"})
+  private int length;
+  private String text;
+
+  @Setup public void setUp() {
+    final Random random = new Random(this.length);
+    final char[] chars = new char[this.length];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = (char) ('a' + random.nextInt(26));
+    }
+    this.text = new String(chars);
+  }
+
+  @Benchmark public int scalar() {
+    return Dialect.DEFAULT.special.scalar(this.text, 0, this.length);
+  }
+
+  @Benchmark public int layered() {
+    return SpecialScan.find(Dialect.DEFAULT.special, this.text, 0, this.length);
+  }
+}
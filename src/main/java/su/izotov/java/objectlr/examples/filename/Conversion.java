@@ -0,0 +1,62 @@
+package su.izotov.java.objectlr.examples.filename;
+
+/**
+ * the result of the conversion of one element of the batch. It has either the converted
+ * string or the failure, which has prevented the conversion
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class Conversion {
+  private final String source;
+  private final String result;
+  private final Exception failure;
+
+  private Conversion(final String source, final String result, final Exception failure) {
+    this.source = source;
+    this.result = result;
+    this.failure = failure;
+  }
+
+  static Conversion succeeded(final String source, final String result) {
+    return new Conversion(source, result, null);
+  }
+
+  static Conversion failed(final String source, final Exception failure) {
+    return new Conversion(source, null, failure);
+  }
+
+  /**
+   * @return the converted element
+   */
+  public String source() {
+    return this.source;
+  }
+
+  public boolean successful() {
+    return this.failure == null;
+  }
+
+  /**
+   * @return the converted string or null, if the conversion has failed
+   */
+  public String result() {
+    return this.result;
+  }
+
+  /**
+   * @return the failure of the conversion (usually RecognitionException) or null, if the
+   * conversion is successful
+   */
+  public Exception failure() {
+    return this.failure;
+  }
+
+  @Override public String toString() {
+    if (this.successful()) {
+      return this.source + " -> " + this.result;
+    }
+    return this.source + " -> " + this.failure;
+  }
+}
@@ -2,15 +2,18 @@ package su.izotov.java.objectlr.examples.filename;
 
 import su.izotov.java.objectlr.RecognitionException;
 import su.izotov.java.objectlr.Sense;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameValues;
 
 /**
- * the file name representation
+ * the file name representation. The names are ordered as their texts, TextFileName and
+ * StringFileName are equal, if their texts are equal, whatever their representations are
  * <p>Created with IntelliJ IDEA.</p>
  * @author Vladimir Izotov
  * @version $Id$
  * @since 1.0
+ * @see FileNameValues
  */
-public interface FileName extends Sense {
+public interface FileName extends Sense, Comparable<FileName> {
   /**
    * convert file name into arbitrary text without any restrictions on it's content
    * @return text
@@ -23,4 +26,11 @@ public interface FileName extends Sense {
    */
   String toStringRepresentation()
       throws RecognitionException;
+
+  /**
+   * compare the texts of the names, the text of a file name is not built for it
+   */
+  @Override default int compareTo(final FileName other) {
+    return FileNameValues.compare(this, other);
+  }
 }
@@ -0,0 +1,163 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameDecoder;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameEncoder;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameValues;
+
+/**
+ * batch conversion of texts into file names and back. The batch is divided between the
+ * workers of the fork-join pool, each worker reuses its own scratch buffer. The order of
+ * the results is the order of the elements, and the failure of one element does not stop
+ * the conversion of the others
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class FileNames {
+  /**
+   * the count of elements, which are converted by one task without further division
+   */
+  private static final int THRESHOLD = 256;
+  /**
+   * the scratch buffer is not kept, if it has grown larger for some long name
+   */
+  private static final int SCRATCH_LIMIT = 1 << 16;
+  private static final ThreadLocal<StringBuilder> SCRATCH =
+      ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+  private FileNames() {
+  }
+
+  /**
+   * convert texts into file names, as TextFileName.toStringRepresentation() does it
+   */
+  public static List<Conversion> encode(final List<String> texts) {
+    return encode(texts, ForkJoinPool.commonPool());
+  }
+
+  public static List<Conversion> encode(final List<String> texts, final ForkJoinPool pool) {
+    return convert(texts, pool, FileNames::encoded);
+  }
+
+  public static List<Conversion> encode(final String... texts) {
+    return encode(Arrays.asList(texts));
+  }
+
+  /**
+   * the conversion is made in the execution mode of the stream, the caller makes it parallel,
+   * if it is needed. Every thread uses its own scratch buffer
+   */
+  public static Stream<Conversion> encode(final Stream<String> texts) {
+    return texts.map(text -> encoded(text, scratch()));
+  }
+
+  /**
+   * restore texts from file names, as StringFileName.toTextRepresentation() does it
+   */
+  public static List<Conversion> decode(final List<String> fileNames) {
+    return decode(fileNames, ForkJoinPool.commonPool());
+  }
+
+  public static List<Conversion> decode(
+      final List<String> fileNames, final ForkJoinPool pool) {
+    return convert(fileNames, pool, FileNames::decoded);
+  }
+
+  public static List<Conversion> decode(final String... fileNames) {
+    return decode(Arrays.asList(fileNames));
+  }
+
+  /**
+   * the conversion is made in the execution mode of the stream, the caller makes it parallel,
+   * if it is needed. Every thread uses its own scratch buffer
+   */
+  public static Stream<Conversion> decode(final Stream<String> fileNames) {
+    return fileNames.map(fileName -> decoded(fileName, scratch()));
+  }
+
+  private static List<Conversion> convert(
+      final List<String> sources, final ForkJoinPool pool,
+      final BiFunction<String, StringBuilder, Conversion> conversion) {
+    final List<String> indexed =
+        sources instanceof RandomAccess ? sources : new ArrayList<>(sources);
+    final Conversion[] results = new Conversion[indexed.size()];
+    pool.invoke(new Batch(indexed, results, 0, results.length, conversion));
+    return Arrays.asList(results);
+  }
+
+  private static StringBuilder scratch() {
+    StringBuilder scratch = SCRATCH.get();
+    if (scratch.capacity() > SCRATCH_LIMIT) {
+      scratch = new StringBuilder(256);
+      SCRATCH.set(scratch);
+    }
+    scratch.setLength(0);
+    return scratch;
+  }
+
+  private static Conversion encoded(final String text, final StringBuilder scratch) {
+    try {
+      FileNameEncoder.encode(text, 0, text.length(), true, scratch);
+      return Conversion.succeeded(text, scratch.toString());
+    } catch (final RuntimeException e) {
+      return Conversion.failed(text, e);
+    }
+  }
+
+  private static Conversion decoded(final String fileName, final StringBuilder scratch) {
+    try {
+      FileNameValues.check(fileName);
+      FileNameDecoder.decode(fileName, 0, fileName.length(), true, scratch);
+      return Conversion.succeeded(fileName, scratch.toString());
+    } catch (final RecognitionException | RuntimeException e) {
+      return Conversion.failed(fileName, e);
+    }
+  }
+
+  /**
+   * converts the range of the batch, dividing it in halves
+   */
+  private static final class Batch
+      extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+    private final List<String> sources;
+    private final Conversion[] results;
+    private final int from;
+    private final int to;
+    private final BiFunction<String, StringBuilder, Conversion> conversion;
+
+    Batch(
+        final List<String> sources, final Conversion[] results,
+        final int from, final int to,
+        final BiFunction<String, StringBuilder, Conversion> conversion) {
+      this.sources = sources;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+      this.conversion = conversion;
+    }
+
+    @Override protected void compute() {
+      if (this.to - this.from > THRESHOLD) {
+        final int middle = (this.from + this.to) >>> 1;
+        invokeAll(
+            new Batch(this.sources, this.results, this.from, middle, this.conversion),
+            new Batch(this.sources, this.results, middle, this.to, this.conversion));
+        return;
+      }
+      for (int i = this.from; i < this.to; i++) {
+        this.results[i] = this.conversion.apply(this.sources.get(i), scratch());
+      }
+    }
+  }
+}
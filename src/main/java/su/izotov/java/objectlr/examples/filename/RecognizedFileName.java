@@ -0,0 +1,30 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * the file name, which is always converted to text by the language recognition. It is the
+ * reference for the automaton, used by StringFileName
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public class RecognizedFileName
+    extends StringFileName {
+  /**
+   * @param fileName must be a correct file name
+   */
+  public RecognizedFileName(final String fileName) {
+    super(fileName);
+  }
+
+  /**
+   * restore arbitrary text by the language recognition
+   */
+  @Override protected TextFileName recognize()
+      throws RecognitionException {
+    return this.toObject();
+  }
+}
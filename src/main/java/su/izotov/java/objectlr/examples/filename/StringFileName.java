@@ -4,8 +4,12 @@ import su.izotov.java.objectlr.RecognitionException;
 import su.izotov.java.objectlr.Sense;
 import su.izotov.java.objectlr.Sentence;
 import su.izotov.java.objectlr.examples.filename.lang.FNLang;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameDecoder;
 import su.izotov.java.objectlr.examples.filename.lang.FileNameLang;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameValues;
 import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+import su.izotov.java.objectlr.examples.filename.metrics.FileNameMetrics;
+import su.izotov.java.objectlr.examples.filename.metrics.OperationRecorder;
 import su.izotov.java.objectlr.tokens.Tokens;
 
 /**
@@ -19,16 +23,31 @@ import su.izotov.java.objectlr.tokens.Tokens;
 public class StringFileName
     extends Sentence<FileNameLang, TextFileName>
     implements FileName {
+  /**
+   * the language has no state, thus it is shared
+   */
+  private static final FileNameLang LANGUAGE = new FNLang();
+  private final String fileName;
+  /**
+   * the result of the recognition, it is made once on demand
+   */
+  private volatile TextFileName recognized;
+  /**
+   * the hash of the text, it is calculated once on demand
+   */
+  private int hash;
+
   /**
    * @param fileName must be a correct file name
    */
   public StringFileName(final String fileName) {
-    this(fileName, new FNLang());
+    this(fileName, LANGUAGE);
   }
 
   protected StringFileName(
       final String text, final FileNameLang language) {
     super(text, language);
+    this.fileName = text;
   }
 
   /**
@@ -37,28 +56,95 @@ public class StringFileName
    */
   @Override public String toTextRepresentation()
       throws RecognitionException {
-    // here we must parse file name and convert it to text
-    return this.toObject().toTextRepresentation();
+    TextFileName result = this.recognized;
+    if (result == null) {
+      synchronized (this) {
+        result = this.recognized;
+        if (result == null) {
+          result = this.measuredRecognize();
+          this.recognized = result;
+        }
+      }
+    }
+    return result.toTextRepresentation();
+  }
+
+  /**
+   * the recognition is measured, if the instrumentation is turned on
+   */
+  private TextFileName measuredRecognize()
+      throws RecognitionException {
+    final OperationRecorder metrics = FileNameMetrics.decoding();
+    if (metrics == null) {
+      return this.recognize();
+    }
+    final long start = System.nanoTime();
+    final TextFileName result;
+    try {
+      result = this.recognize();
+    } catch (final RecognitionException | RuntimeException e) {
+      metrics.failed(this.fileName.length(), System.nanoTime() - start);
+      throw e;
+    }
+    final long elapsed = System.nanoTime() - start;
+    metrics.succeeded(
+        this.fileName.length(), result.toTextRepresentation().length(),
+        FileNameDecoder.tokens(this.fileName), elapsed);
+    return result;
   }
 
   /**
    * just return file name. Nothing special
    */
-  @Override public String toStringRepresentation()
+  @Override public String toStringRepresentation() {
+    return this.fileName;
+  }
+
+  /**
+   * here we must parse file name and convert it to text. The names, which are not decoded,
+   * are rejected at once by InvalidFileNameException without the stack trace, the automaton
+   * converts the others in one pass
+   */
+  protected TextFileName recognize()
       throws RecognitionException {
-    return this.toObject().toTextRepresentation();
+    FileNameValues.check(this.fileName);
+    return new TextFileName(FileNameDecoder.decode(this.fileName));
   }
 
   @Override public Tokens tokens() {
-    return new FNLang().tokens();
+    return LANGUAGE.tokens();
   }
 
   @Override public Sense textToken(final String text) {
-    return new FNLang().textToken(text);
+    return LANGUAGE.textToken(text);
   }
 
   @Override
   public String toSource() {
     return this.toString();
   }
+
+  /**
+   * the name is equal to the TextFileName or StringFileName of the same text. The texts are
+   * compared without the recognition
+   */
+  @Override public boolean equals(final Object other) {
+    return FileNameValues.equal(this, other);
+  }
+
+  /**
+   * the hash of the text, the same as String.hashCode() of it, is calculated over the file
+   * name without the recognition
+   */
+  @Override public int hashCode() {
+    int result = this.hash;
+    if (result == 0) {
+      final TextFileName text = this.recognized;
+      result = text == null
+               ? FileNameValues.hash(this.fileName)
+               : text.toTextRepresentation().hashCode();
+      this.hash = result;
+    }
+    return result;
+  }
 }
@@ -0,0 +1,148 @@
+package su.izotov.java.objectlr.examples.filename.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * the bounded map of strings with LRU eviction. It is divided into segments with their own
+ * locks, thus the threads, which use different segments, do not wait for each other. The
+ * limit is the sum of weights of entries, the weight is computed by the weigher
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class BoundedCache {
+  private static final int MAX_SEGMENTS = 64;
+  /**
+   * the segment must hold several entries, otherwise LRU is senseless
+   */
+  private static final int MIN_SEGMENT_WEIGHT = 16;
+  private final Segment[] segments;
+  private final Weigher weigher;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+
+  BoundedCache(final long limit, final Weigher weigher) {
+    if (limit <= 0L) {
+      throw new IllegalArgumentException("the limit must be positive: " + limit);
+    }
+    final long minimum = MIN_SEGMENT_WEIGHT * weigher.unit();
+    int count = 1;
+    while (count < MAX_SEGMENTS && limit / (count * 2) >= minimum) {
+      count *= 2;
+    }
+    this.segments = new Segment[count];
+    for (int i = 0; i < count; i++) {
+      this.segments[i] = new Segment(limit / count + (i < limit % count ? 1 : 0));
+    }
+    this.weigher = weigher;
+  }
+
+  /**
+   * @return cached value or null
+   */
+  String get(final String key) {
+    final String value = this.segment(key).get(key);
+    if (value == null) {
+      this.misses.increment();
+    } else {
+      this.hits.increment();
+    }
+    return value;
+  }
+
+  /**
+   * @return the value, which is cached for the key. It is the given value, unless another
+   * thread has cached its own value meanwhile. The entry, which is heavier than the segment,
+   * is not cached, as it would evict all entries of the segment and then itself
+   */
+  String put(final String key, final String value) {
+    return this.segment(key).put(key, value, this.weigher.weight(key, value));
+  }
+
+  CacheStatistics statistics() {
+    long size = 0L;
+    long weight = 0L;
+    for (final Segment segment : this.segments) {
+      synchronized (segment) {
+        size += segment.entries.size();
+        weight += segment.weight;
+      }
+    }
+    return new CacheStatistics(
+        this.hits.sum(), this.misses.sum(), this.evictions.sum(), this.rejections.sum(), size,
+        weight);
+  }
+
+  private Segment segment(final String key) {
+    final int hash = key.hashCode();
+    return this.segments[(hash ^ hash >>> 16) & this.segments.length - 1];
+  }
+
+  /**
+   * the weight of the cache entry
+   */
+  interface Weigher {
+    long weight(String key, String value);
+
+    /**
+     * @return the weight of the typical small entry
+     */
+    long unit();
+  }
+
+  /**
+   * the part of the cache with its own lock and limit
+   */
+  private final class Segment {
+    private final LinkedHashMap<String, Entry> entries =
+        new LinkedHashMap<>(16, 0.75f, true);
+    private final long limit;
+    private long weight;
+
+    Segment(final long limit) {
+      this.limit = limit;
+    }
+
+    synchronized String get(final String key) {
+      final Entry entry = this.entries.get(key);
+      return entry == null ? null : entry.value;
+    }
+
+    synchronized String put(final String key, final String value, final long entryWeight) {
+      final Entry existing = this.entries.get(key);
+      if (existing != null) {
+        return existing.value;
+      }
+      if (entryWeight > this.limit) {
+        BoundedCache.this.rejections.increment();
+        return value;
+      }
+      this.entries.put(key, new Entry(value, entryWeight));
+      this.weight += entryWeight;
+      final Iterator<Map.Entry<String, Entry>> eldest = this.entries.entrySet().iterator();
+      while (this.weight > this.limit && eldest.hasNext()) {
+        final Entry evicted = eldest.next().getValue();
+        eldest.remove();
+        this.weight -= evicted.weight;
+        BoundedCache.this.evictions.increment();
+      }
+      return value;
+    }
+  }
+
+  private static final class Entry {
+    private final String value;
+    private final long weight;
+
+    Entry(final String value, final long weight) {
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+}
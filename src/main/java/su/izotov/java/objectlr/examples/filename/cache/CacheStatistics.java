@@ -0,0 +1,73 @@
+package su.izotov.java.objectlr.examples.filename.cache;
+
+/**
+ * the snapshot of cache counters
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class CacheStatistics {
+  private final long hits;
+  private final long misses;
+  private final long evictions;
+  private final long rejections;
+  private final long size;
+  private final long weight;
+
+  CacheStatistics(
+      final long hits, final long misses, final long evictions, final long rejections,
+      final long size, final long weight) {
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.rejections = rejections;
+    this.size = size;
+    this.weight = weight;
+  }
+
+  public long hits() {
+    return this.hits;
+  }
+
+  public long misses() {
+    return this.misses;
+  }
+
+  public long evictions() {
+    return this.evictions;
+  }
+
+  /**
+   * @return the count of the entries, which are not cached, as each of them is heavier than
+   * the segment of the cache
+   */
+  public long rejections() {
+    return this.rejections;
+  }
+
+  /**
+   * @return the count of cached entries
+   */
+  public long size() {
+    return this.size;
+  }
+
+  /**
+   * @return the sum of weights of cached entries, in entries or in bytes
+   */
+  public long weight() {
+    return this.weight;
+  }
+
+  public double hitRate() {
+    final long requests = this.hits + this.misses;
+    return requests == 0L ? 0.0 : (double) this.hits / requests;
+  }
+
+  @Override public String toString() {
+    return String.format(
+        "hits=%d misses=%d evictions=%d rejections=%d size=%d weight=%d", this.hits,
+        this.misses, this.evictions, this.rejections, this.size, this.weight);
+  }
+}
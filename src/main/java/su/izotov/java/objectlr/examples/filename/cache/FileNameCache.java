@@ -0,0 +1,92 @@
+package su.izotov.java.objectlr.examples.filename.cache;
+
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.StringFileName;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameEncoder;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameValues;
+
+/**
+ * bounded concurrent cache in front of the conversions. The hot set of names is converted
+ * once, and the least recently used names are evicted, when the limit is reached. Failed
+ * conversions are not cached
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class FileNameCache {
+  /**
+   * approximate size of two strings and the map entry without characters
+   */
+  private static final long ENTRY_OVERHEAD = 128L;
+  private final BoundedCache decoded;
+  private final BoundedCache encoded;
+
+  private FileNameCache(final long limit, final BoundedCache.Weigher weigher) {
+    this.decoded = new BoundedCache(limit, weigher);
+    this.encoded = new BoundedCache(limit, weigher);
+  }
+
+  /**
+   * @param entries the limit of entries for each direction of the conversion
+   */
+  public static FileNameCache withMaxEntries(final long entries) {
+    return new FileNameCache(entries, new BoundedCache.Weigher() {
+      @Override public long weight(final String key, final String value) {
+        return 1L;
+      }
+
+      @Override public long unit() {
+        return 1L;
+      }
+    });
+  }
+
+  /**
+   * @param bytes the limit of approximate heap size for each direction of the conversion
+   */
+  public static FileNameCache withMaxBytes(final long bytes) {
+    return new FileNameCache(bytes, new BoundedCache.Weigher() {
+      @Override public long weight(final String key, final String value) {
+        return ENTRY_OVERHEAD + 2L * (key.length() + value.length());
+      }
+
+      @Override public long unit() {
+        return ENTRY_OVERHEAD;
+      }
+    });
+  }
+
+  /**
+   * restore text from the file name, as StringFileName.toTextRepresentation() does it. The
+   * names, which are not decoded, are rejected before the recognition
+   */
+  public String decode(final String fileName)
+      throws RecognitionException {
+    final String cached = this.decoded.get(fileName);
+    if (cached != null) {
+      return cached;
+    }
+    FileNameValues.check(fileName);
+    return this.decoded.put(fileName, new StringFileName(fileName).toTextRepresentation());
+  }
+
+  /**
+   * convert text to the file name, as TextFileName.toStringRepresentation() does it
+   */
+  public String encode(final String text) {
+    final String cached = this.encoded.get(text);
+    if (cached != null) {
+      return cached;
+    }
+    return this.encoded.put(text, FileNameEncoder.encode(text));
+  }
+
+  public CacheStatistics decoding() {
+    return this.decoded.statistics();
+  }
+
+  public CacheStatistics encoding() {
+    return this.encoded.statistics();
+  }
+}
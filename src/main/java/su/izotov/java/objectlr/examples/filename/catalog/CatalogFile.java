@@ -0,0 +1,275 @@
+package su.izotov.java.objectlr.examples.filename.catalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * the file of the catalog, which is read through the memory mapping. The file consists of the
+ * header, the records of the pairs of keys and two arrays of the positions of the records,
+ * sorted by the path keys and by the text keys. The keys are in UTF-8 and are compared as
+ * unsigned bytes, thus the search compares the mapped bytes and reads nothing into the heap
+ * but the found keys.
+ * <pre>
+ * int magic, int count, int path index, int text index
+ * records: int length, path key, int length, text key
+ * path index: int position of the record * count
+ * text index: int position of the record * count
+ * </pre>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class CatalogFile {
+  private static final int MAGIC = 0x464e4331;
+  private static final int HEADER = 16;
+  private static final Comparator<byte[]> UNSIGNED = (left, right) -> {
+    final int length = Math.min(left.length, right.length);
+    for (int i = 0; i < length; i++) {
+      final int difference = (left[i] & 0xff) - (right[i] & 0xff);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return left.length - right.length;
+  };
+  private final ByteBuffer buffer;
+  private final int count;
+  private final int paths;
+  private final int texts;
+
+  private CatalogFile(final ByteBuffer buffer) {
+    this.buffer = buffer;
+    if (buffer.limit() < HEADER || buffer.getInt(0) != MAGIC) {
+      throw new IllegalArgumentException("It is not a catalog file");
+    }
+    this.count = buffer.getInt(4);
+    this.paths = buffer.getInt(8);
+    this.texts = buffer.getInt(12);
+  }
+
+  /**
+   * map the file into the memory
+   */
+  static CatalogFile open(final Path file)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final MappedByteBuffer buffer =
+          channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+      try {
+        return new CatalogFile(buffer.order(ByteOrder.BIG_ENDIAN));
+      } catch (final IllegalArgumentException e) {
+        throw new IOException(e.getMessage() + ": " + file, e);
+      }
+    }
+  }
+
+  /**
+   * write the catalog of the pairs of keys. The file is replaced at once, when the new one is
+   * written. Windows does not replace the file, which is mapped, and Java unmaps the buffer
+   * only when it is collected, thus the file of the open catalog is replaced only on the
+   * systems, which keep the mapping of the replaced file, as POSIX ones do
+   * @param pairs the path key and the text key of every entry
+   */
+  static void write(final Path file, final List<String[]> pairs)
+      throws IOException {
+    final List<byte[][]> records = new ArrayList<>(pairs.size());
+    long size = HEADER + 8L * pairs.size();
+    for (final String[] pair : pairs) {
+      final byte[][] record = {
+          pair[0].getBytes(StandardCharsets.UTF_8), pair[1].getBytes(StandardCharsets.UTF_8)};
+      records.add(record);
+      size += 8L + record[0].length + record[1].length;
+    }
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("The catalog is larger than 2 GB");
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+    buffer.position(HEADER);
+    final int[] positions = new int[records.size()];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = buffer.position();
+      final byte[][] record = records.get(i);
+      buffer.putInt(record[0].length).put(record[0]).putInt(record[1].length).put(record[1]);
+    }
+    final int paths = buffer.position();
+    for (final int record : sorted(records, positions, 0)) {
+      buffer.putInt(record);
+    }
+    final int texts = buffer.position();
+    for (final int record : sorted(records, positions, 1)) {
+      buffer.putInt(record);
+    }
+    buffer.putInt(0, MAGIC).putInt(4, positions.length).putInt(8, paths).putInt(12, texts);
+    buffer.flip();
+    final Path temporary = Files.createTempFile(
+        file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+        channel.force(true);
+      }
+      Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING,
+                 StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  /**
+   * @return the positions of the records, sorted by the key
+   */
+  private static Integer[] sorted(
+      final List<byte[][]> records, final int[] positions, final int key) {
+    final Integer[] order = new Integer[positions.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (left, right) ->
+        UNSIGNED.compare(records.get(left)[key], records.get(right)[key]));
+    for (int i = 0; i < order.length; i++) {
+      order[i] = positions[order[i]];
+    }
+    return order;
+  }
+
+  int count() {
+    return this.count;
+  }
+
+  /**
+   * @return the position of the record in the order of the path keys
+   */
+  int byPath(final int index) {
+    return this.buffer.getInt(this.paths + 4 * index);
+  }
+
+  /**
+   * @return the position of the record in the order of the text keys
+   */
+  int byText(final int index) {
+    return this.buffer.getInt(this.texts + 4 * index);
+  }
+
+  /**
+   * @return the index of the first record in the order of the path keys, which key is not
+   * less than the given one
+   */
+  int lowerPath(final byte[] key) {
+    int low = 0;
+    int high = this.count;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (this.compare(this.byPath(middle), key) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return the index of the first record in the order of the text keys, which key is not
+   * less than the given one
+   */
+  int lowerText(final byte[] key) {
+    int low = 0;
+    int high = this.count;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (this.compare(this.textKey(this.byText(middle)), key) < 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return the position of the record with the path key or -1
+   */
+  int findPath(final byte[] key) {
+    final int index = this.lowerPath(key);
+    if (index < this.count && this.compare(this.byPath(index), key) == 0) {
+      return this.byPath(index);
+    }
+    return -1;
+  }
+
+  /**
+   * @return true, if the key of the record at the position is the given key
+   */
+  boolean textIs(final int record, final byte[] key) {
+    return this.compare(this.textKey(record), key) == 0;
+  }
+
+  /**
+   * @return true, if the path key of the record begins with the prefix
+   */
+  boolean pathStarts(final int record, final byte[] prefix) {
+    final int length = this.buffer.getInt(record);
+    if (length < prefix.length) {
+      return false;
+    }
+    for (int i = 0; i < prefix.length; i++) {
+      if (this.buffer.get(record + 4 + i) != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  String path(final int record) {
+    return this.string(record);
+  }
+
+  String text(final int record) {
+    return this.string(this.textKey(record));
+  }
+
+  /**
+   * @return the position of the text key of the record
+   */
+  private int textKey(final int record) {
+    return record + 4 + this.buffer.getInt(record);
+  }
+
+  /**
+   * compare the key at the position with the given one as unsigned bytes
+   */
+  private int compare(final int position, final byte[] key) {
+    final int length = this.buffer.getInt(position);
+    final int common = Math.min(length, key.length);
+    for (int i = 0; i < common; i++) {
+      final int difference = (this.buffer.get(position + 4 + i) & 0xff) - (key[i] & 0xff);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return length - key.length;
+  }
+
+  private String string(final int position) {
+    final byte[] bytes = new byte[this.buffer.getInt(position)];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = this.buffer.get(position + 4 + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,126 @@
+package su.izotov.java.objectlr.examples.filename.catalog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * applies the changes of the tree to the catalog by the thread, which waits for the events of
+ * the watch service. A created entry is added, a deleted one is removed with its tree, and a
+ * renamed entry is both, as the watch service reports it. The created directory is watched
+ * too, and its entries, which are created before, are added. If the events are lost, the
+ * directory is cataloged again.
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class CatalogWatcher
+    implements Closeable {
+  private static final Logger LOGGER = Logger.getLogger(CatalogWatcher.class.getName());
+  private final NameCatalog catalog;
+  private final WatchService service;
+  private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+  private final Thread thread;
+
+  CatalogWatcher(final NameCatalog catalog, final Path root)
+      throws IOException {
+    this.catalog = catalog;
+    this.service = root.getFileSystem().newWatchService();
+    this.register(root);
+    this.thread = new Thread(this::run, "catalog-watcher");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  /**
+   * stop watching, the changes, which are applied, are kept in the catalog
+   */
+  @Override public void close()
+      throws IOException {
+    this.service.close();
+    try {
+      this.thread.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    try {
+      while (true) {
+        final WatchKey key = this.service.take();
+        final Path directory = this.directories.get(key);
+        if (directory != null) {
+          this.apply(directory, key);
+        }
+        if (!key.reset()) {
+          this.directories.remove(key);
+        }
+      }
+    } catch (final ClosedWatchServiceException | InterruptedException e) {
+      // the watcher is closed
+    }
+  }
+
+  private void apply(final Path directory, final WatchKey key) {
+    for (final WatchEvent<?> event : key.pollEvents()) {
+      try {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+          // the directories, which are created meanwhile, are not watched yet
+          this.register(directory);
+          this.catalog.remove(directory);
+          this.catalog.add(directory);
+          continue;
+        }
+        final Path entry = directory.resolve((Path) event.context());
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+          if (Files.isDirectory(entry)) {
+            this.register(entry);
+          }
+          this.catalog.add(entry);
+        } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+          this.catalog.remove(entry);
+        }
+      } catch (final IOException e) {
+        LOGGER.log(Level.WARNING, "The change of " + directory + " is not cataloged", e);
+      }
+    }
+  }
+
+  /**
+   * watch the directory and the directories of its tree
+   */
+  private void register(final Path directory)
+      throws IOException {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+      @Override public FileVisitResult preVisitDirectory(
+          final Path dir, final BasicFileAttributes attributes)
+          throws IOException {
+        final WatchKey key = dir.register(
+            CatalogWatcher.this.service, StandardWatchEventKinds.ENTRY_CREATE,
+            StandardWatchEventKinds.ENTRY_DELETE);
+        CatalogWatcher.this.directories.put(key, dir);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override public FileVisitResult visitFileFailed(
+          final Path file, final IOException e) {
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+}
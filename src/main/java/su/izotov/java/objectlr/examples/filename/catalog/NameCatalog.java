@@ -0,0 +1,321 @@
+package su.izotov.java.objectlr.examples.filename.catalog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.path.PathCodec;
+
+/**
+ * the persistent catalog of the entries of the directory tree: the path of every entry
+ * relative to the root and the texts of its name elements. The catalog is kept in the file,
+ * which is mapped into the memory and searched without reading it into the heap, thus the
+ * texts of a large tree are not restored again after the restart.
+ * <p>The changes of the tree are kept in the heap over the file, until the catalog is
+ * compacted. The watcher applies the changes, which are made in the tree.</p>
+ * <p>The text of a name never contains the NUL character, which is forbidden in file names,
+ * therefore the texts of the path are joined by it into the key. The entries, which names
+ * can not be restored, are not cataloged.</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class NameCatalog {
+  private static final char SEPARATOR = '/';
+  private static final char TEXT_SEPARATOR = '\0';
+  private final Path root;
+  private final Path file;
+  private final PathCodec codec = new PathCodec();
+  private CatalogFile base;
+  /**
+   * the entries, which are not in the file, by the path keys and by the text keys
+   */
+  private final Map<String, String> added = new HashMap<>();
+  private final Map<String, String> addedTexts = new HashMap<>();
+  /**
+   * the path keys of the entries of the file, which are removed
+   */
+  private final Set<String> removed = new HashSet<>();
+
+  private NameCatalog(final Path root, final Path file, final CatalogFile base) {
+    this.root = root.toAbsolutePath().normalize();
+    this.file = file.toAbsolutePath().normalize();
+    this.base = base;
+  }
+
+  /**
+   * catalog all entries of the tree and write the catalog into the file
+   */
+  public static NameCatalog build(final Path root, final Path file)
+      throws IOException {
+    final NameCatalog empty = new NameCatalog(root, file, null);
+    final List<String[]> pairs = new ArrayList<>();
+    empty.walk(empty.root, pairs);
+    CatalogFile.write(file, pairs);
+    return open(root, file);
+  }
+
+  /**
+   * @param file the catalog of the tree, which is built before. If it does not exist, the
+   * catalog is built
+   */
+  public static NameCatalog open(final Path root, final Path file)
+      throws IOException {
+    if (!Files.exists(file)) {
+      return build(root, file);
+    }
+    return new NameCatalog(root, file, CatalogFile.open(file));
+  }
+
+  /**
+   * @param path the path of the entry, relative to the root or absolute
+   * @return the texts of the name elements of the relative path or null, if the entry is not
+   * cataloged
+   */
+  public synchronized List<String> decode(final Path path) {
+    final String key = this.pathKey(path);
+    String text = this.added.get(key);
+    if (text == null && !this.removed.contains(key)) {
+      final int record = this.base.findPath(key.getBytes(StandardCharsets.UTF_8));
+      if (record >= 0) {
+        text = this.base.text(record);
+      }
+    }
+    if (text == null) {
+      return null;
+    }
+    return Collections.unmodifiableList(Arrays.asList(split(text, TEXT_SEPARATOR)));
+  }
+
+  /**
+   * @param texts the texts of the name elements
+   * @return the path of the entry, relative to the root, or null, if the entry is not
+   * cataloged. If several entries have the same texts, any of them is returned
+   */
+  public synchronized Path encode(final List<String> texts) {
+    if (texts.isEmpty()) {
+      return null;
+    }
+    final StringBuilder builder = new StringBuilder();
+    for (final String text : texts) {
+      if (text.indexOf(TEXT_SEPARATOR) >= 0) {
+        return null;
+      }
+      if (builder.length() > 0) {
+        builder.append(TEXT_SEPARATOR);
+      }
+      builder.append(text);
+    }
+    final String key = builder.toString();
+    String path = this.addedTexts.get(key);
+    if (path == null) {
+      final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+      for (int i = this.base.lowerText(bytes); i < this.base.count(); i++) {
+        final int record = this.base.byText(i);
+        if (!this.base.textIs(record, bytes)) {
+          break;
+        }
+        if (!this.removed.contains(this.base.path(record))) {
+          path = this.base.path(record);
+          break;
+        }
+      }
+    }
+    if (path == null) {
+      return null;
+    }
+    final String[] names = split(path, SEPARATOR);
+    return this.root.getFileSystem().getPath(
+        names[0], Arrays.copyOfRange(names, 1, names.length));
+  }
+
+  /**
+   * @return the count of the cataloged entries
+   */
+  public synchronized int size() {
+    return this.base.count() - this.removed.size() + this.added.size();
+  }
+
+  /**
+   * @return the count of the changes, which are kept in the heap
+   */
+  public synchronized int pending() {
+    return this.removed.size() + this.added.size();
+  }
+
+  /**
+   * write the changes into the file and map the new file. On Windows the mapped file is not
+   * replaced, the compaction fails with the IOException and the changes stay in the heap
+   */
+  public synchronized void compact()
+      throws IOException {
+    final List<String[]> pairs = new ArrayList<>(this.size());
+    for (int i = 0; i < this.base.count(); i++) {
+      final int record = this.base.byPath(i);
+      final String path = this.base.path(record);
+      if (!this.removed.contains(path)) {
+        pairs.add(new String[]{path, this.base.text(record)});
+      }
+    }
+    for (final Map.Entry<String, String> entry : this.added.entrySet()) {
+      pairs.add(new String[]{entry.getKey(), entry.getValue()});
+    }
+    CatalogFile.write(this.file, pairs);
+    this.base = CatalogFile.open(this.file);
+    this.added.clear();
+    this.addedTexts.clear();
+    this.removed.clear();
+  }
+
+  /**
+   * @return the watcher, which applies the changes of the tree to the catalog until it is
+   * closed
+   */
+  public CatalogWatcher watch()
+      throws IOException {
+    return new CatalogWatcher(this, this.root);
+  }
+
+  /**
+   * add the entry and, if it is a directory, the entries of its tree
+   */
+  synchronized void add(final Path path)
+      throws IOException {
+    final List<String[]> pairs = new ArrayList<>();
+    this.pair(path, pairs);
+    if (Files.isDirectory(path)) {
+      this.walk(path, pairs);
+    }
+    for (final String[] pair : pairs) {
+      if (this.removed.remove(pair[0])) {
+        continue;
+      }
+      if (this.base.findPath(pair[0].getBytes(StandardCharsets.UTF_8)) < 0) {
+        this.added.put(pair[0], pair[1]);
+        this.addedTexts.put(pair[1], pair[0]);
+      }
+    }
+  }
+
+  /**
+   * remove the entry and the entries of its tree, the root is not removed itself
+   */
+  synchronized void remove(final Path path) {
+    final String key = this.pathKey(path);
+    final String prefix = key.isEmpty() ? key : key + SEPARATOR;
+    final List<String> paths = new ArrayList<>();
+    for (final String added : this.added.keySet()) {
+      if (added.equals(key) || added.startsWith(prefix)) {
+        paths.add(added);
+      }
+    }
+    for (final String added : paths) {
+      final String text = this.added.remove(added);
+      this.addedTexts.remove(text, added);
+    }
+    final int record = this.base.findPath(key.getBytes(StandardCharsets.UTF_8));
+    if (record >= 0) {
+      this.removed.add(key);
+    }
+    final byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+    for (int i = this.base.lowerPath(bytes); i < this.base.count(); i++) {
+      final int child = this.base.byPath(i);
+      if (!this.base.pathStarts(child, bytes)) {
+        break;
+      }
+      this.removed.add(this.base.path(child));
+    }
+  }
+
+  /**
+   * the pairs of the entries of the tree, except the catalog file
+   */
+  private void walk(final Path directory, final List<String[]> pairs)
+      throws IOException {
+    Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+      @Override public FileVisitResult preVisitDirectory(
+          final Path dir, final BasicFileAttributes attributes) {
+        if (!dir.equals(directory)) {
+          NameCatalog.this.pair(dir, pairs);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override public FileVisitResult visitFile(
+          final Path file, final BasicFileAttributes attributes) {
+        NameCatalog.this.pair(file, pairs);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override public FileVisitResult visitFileFailed(
+          final Path file, final IOException e) {
+        // the entry is removed meanwhile or is not readable
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  /**
+   * add the pair of the keys of the entry, if its names are restored
+   */
+  private void pair(final Path path, final List<String[]> pairs) {
+    final Path absolute = path.toAbsolutePath().normalize();
+    if (absolute.equals(this.file) || absolute.equals(this.root)) {
+      return;
+    }
+    try {
+      final List<String> texts = this.codec.decode(this.root, absolute);
+      final StringBuilder text = new StringBuilder();
+      for (final String name : texts) {
+        if (text.length() > 0) {
+          text.append(TEXT_SEPARATOR);
+        }
+        text.append(name);
+      }
+      pairs.add(new String[]{this.pathKey(absolute), text.toString()});
+    } catch (final RecognitionException | RuntimeException e) {
+      // the name is not made by the encoder
+    }
+  }
+
+  /**
+   * @return the names of the path, relative to the root, joined by the separator
+   */
+  private String pathKey(final Path path) {
+    final Path relative = path.isAbsolute()
+                          ? this.root.relativize(path.normalize())
+                          : path.normalize();
+    final StringBuilder key = new StringBuilder();
+    for (final Path name : relative) {
+      if (key.length() > 0) {
+        key.append(SEPARATOR);
+      }
+      key.append(name.toString());
+    }
+    return key.toString();
+  }
+
+  private static String[] split(final String key, final char separator) {
+    final List<String> parts = new ArrayList<>();
+    int start = 0;
+    for (int i = key.indexOf(separator); i >= 0; i = key.indexOf(separator, start)) {
+      parts.add(key.substring(start, i));
+      start = i + 1;
+    }
+    parts.add(key.substring(start));
+    return parts.toArray(new String[0]);
+  }
+}
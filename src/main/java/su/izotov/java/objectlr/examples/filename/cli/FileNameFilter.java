@@ -0,0 +1,437 @@
+package su.izotov.java.objectlr.examples.filename.cli;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import su.izotov.java.objectlr.examples.filename.lang.Dialect;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameDecoder;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameEncoder;
+
+/**
+ * the filter of shell pipelines, which reads names separated by new lines or NUL characters
+ * and writes them encoded or decoded, in the same order and with the same separator:
+ * <pre>find . -print0 | filename encode -0 | xargs -0 ...</pre>
+ * The caller thread reads the input in batches of names, the workers convert the batches
+ * and the writer thread writes them in the order of reading. The queue of the batches is
+ * bounded, thus the memory does not depend on the size of the input. The streams are in
+ * UTF-8.
+ * <p>The name, which can not be decoded, is written as is and reported to the error
+ * stream. So is the name, which is decoded to a text with the separator, as the new line,
+ * which is decoded without -0: it would be read as two names</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class FileNameFilter {
+  private static final String USAGE =
+      "usage: filename encode|decode [-0] [--dialect default|windows|object-store]"
+          + " [--batch names] [--threads count]\n"
+          + "  -0  the names are separated by NUL characters instead of new lines,"
+          + " the decoded names may contain new lines\n";
+  private static final int BUFFER = 1 << 16;
+  private static final int DEFAULT_BATCH = 4096;
+  private final boolean encode;
+  private final Dialect dialect;
+  private final char delimiter;
+  private final int batch;
+  private final int threads;
+
+  /**
+   * @param encode convert texts to file names, otherwise file names to texts
+   * @param delimiter the separator of names, '\n' or '\0'
+   * @param batch the count of names, converted by one task
+   * @param threads the count of the workers
+   */
+  public FileNameFilter(
+      final boolean encode, final Dialect dialect, final char delimiter, final int batch,
+      final int threads) {
+    if (batch < 1 || threads < 1) {
+      throw new IllegalArgumentException(
+          String.format("batch %d, threads %d", batch, threads));
+    }
+    this.encode = encode;
+    this.dialect = dialect;
+    this.delimiter = delimiter;
+    this.batch = batch;
+    this.threads = threads;
+  }
+
+  /**
+   * exits with 1, if some names are not converted, and with 2 on wrong arguments
+   */
+  public static void main(final String[] args) {
+    final int status = run(args, System.in, System.out, System.err);
+    if (status != 0) {
+      System.exit(status);
+    }
+  }
+
+  /**
+   * @return the exit status
+   */
+  static int run(
+      final String[] args, final InputStream in, final OutputStream out,
+      final PrintStream errors) {
+    final FileNameFilter filter;
+    try {
+      filter = parse(args);
+    } catch (final IllegalArgumentException e) {
+      errors.print(USAGE);
+      errors.println(e.getMessage());
+      return 2;
+    }
+    try {
+      return filter.filter(in, out, errors) == 0 ? 0 : 1;
+    } catch (final IOException e) {
+      errors.println("filename: " + e.getMessage());
+      return 2;
+    }
+  }
+
+  private static FileNameFilter parse(final String... args) {
+    Boolean encode = null;
+    Dialect dialect = Dialect.DEFAULT;
+    char delimiter = '\n';
+    int batch = DEFAULT_BATCH;
+    int threads = Runtime.getRuntime().availableProcessors();
+    for (int i = 0; i < args.length; i++) {
+      final String arg = args[i];
+      if ("encode".equals(arg) || "decode".equals(arg)) {
+        encode = "encode".equals(arg);
+      } else if ("-0".equals(arg) || "--null".equals(arg)) {
+        delimiter = '\0';
+      } else if ("--dialect".equals(arg)) {
+        dialect = dialect(value(args, ++i, arg));
+      } else if ("--batch".equals(arg)) {
+        batch = number(value(args, ++i, arg));
+      } else if ("--threads".equals(arg)) {
+        threads = number(value(args, ++i, arg));
+      } else {
+        throw new IllegalArgumentException("Unknown argument: " + arg);
+      }
+    }
+    if (encode == null) {
+      throw new IllegalArgumentException("The direction is not given");
+    }
+    return new FileNameFilter(encode, dialect, delimiter, batch, threads);
+  }
+
+  private static String value(final String[] args, final int index, final String option) {
+    if (index >= args.length) {
+      throw new IllegalArgumentException("The value of " + option + " is not given");
+    }
+    return args[index];
+  }
+
+  private static int number(final String value) {
+    try {
+      final int number = Integer.parseInt(value);
+      if (number > 0) {
+        return number;
+      }
+    } catch (final NumberFormatException ignored) {
+      // reported below
+    }
+    throw new IllegalArgumentException("Positive number is expected: " + value);
+  }
+
+  private static Dialect dialect(final String name) {
+    switch (name.toLowerCase(Locale.ROOT)) {
+      case "default":
+        return Dialect.DEFAULT;
+      case "windows":
+        return Dialect.WINDOWS;
+      case "object-store":
+        return Dialect.OBJECT_STORE;
+      default:
+        throw new IllegalArgumentException("Unknown dialect: " + name);
+    }
+  }
+
+  /**
+   * convert all names of the input. The streams are not closed, the output is flushed
+   * @return the count of the names, which are not converted
+   */
+  public long filter(final InputStream in, final OutputStream out, final PrintStream errors)
+      throws IOException {
+    final AtomicInteger workers = new AtomicInteger();
+    final ExecutorService pool = Executors.newFixedThreadPool(this.threads, task -> {
+      final Thread thread = new Thread(task, "filename-worker-" + workers.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    // every worker may have a batch ready, while the writer writes the next one
+    final BlockingQueue<Future<Batch>> queue = new ArrayBlockingQueue<>(2 * this.threads);
+    final Output output = new Output(
+        queue, new OutputStreamWriter(new BufferedOutputStream(out, BUFFER),
+                                      StandardCharsets.UTF_8), errors);
+    final Thread writer = new Thread(output, "filename-writer");
+    writer.setDaemon(true);
+    writer.start();
+    try {
+      this.read(new InputStreamReader(new BufferedInputStream(in, BUFFER),
+                                      StandardCharsets.UTF_8), pool, queue);
+    } finally {
+      put(queue, Output.END);
+      join(writer);
+      pool.shutdownNow();
+    }
+    return output.result();
+  }
+
+  /**
+   * read the input and submit the batches of names in the order of reading. The names, which
+   * are read, are submitted before waiting for more input, thus the filter responds to an
+   * interactive input
+   */
+  private void read(
+      final Reader reader, final ExecutorService pool, final BlockingQueue<Future<Batch>> queue)
+      throws IOException {
+    char[] buffer = new char[BUFFER];
+    // the beginning of the batch, the end of its last complete name, the end of the search
+    // of separators and the end of the read text
+    int start = 0;
+    int complete = 0;
+    int scanned = 0;
+    int end = 0;
+    int names = 0;
+    while (true) {
+      for (; scanned < end; scanned++) {
+        if (buffer[scanned] == this.delimiter) {
+          complete = scanned + 1;
+          if (++names == this.batch) {
+            this.submit(Arrays.copyOfRange(buffer, start, complete), pool, queue);
+            start = complete;
+            names = 0;
+          }
+        }
+      }
+      if (complete > start && !reader.ready()) {
+        this.submit(Arrays.copyOfRange(buffer, start, complete), pool, queue);
+        start = complete;
+        names = 0;
+      }
+      if (end == buffer.length) {
+        if (start > 0) {
+          System.arraycopy(buffer, start, buffer, 0, end - start);
+          complete -= start;
+          scanned -= start;
+          end -= start;
+          start = 0;
+        } else {
+          buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+        }
+      }
+      final int count = reader.read(buffer, end, buffer.length - end);
+      if (count < 0) {
+        break;
+      }
+      end += count;
+    }
+    if (start < end) {
+      // the last name without the separator
+      this.submit(Arrays.copyOfRange(buffer, start, end), pool, queue);
+    }
+  }
+
+  private void submit(
+      final char[] names, final ExecutorService pool, final BlockingQueue<Future<Batch>> queue)
+      throws IOException {
+    put(queue, CompletableFuture.supplyAsync(() -> this.convert(names), pool));
+  }
+
+  /**
+   * @param names the names, each of them but the last one ends with the separator
+   */
+  private Batch convert(final char[] names) {
+    final StringBuilder result = new StringBuilder(names.length + (names.length >> 3) + 16);
+    List<String> failures = Collections.emptyList();
+    int from = 0;
+    while (from < names.length) {
+      int to = from;
+      while (to < names.length && names[to] != this.delimiter) {
+        to++;
+      }
+      final CharBuffer name = CharBuffer.wrap(names, from, to - from);
+      final int mark = result.length();
+      if (!this.convert(name, result) || contains(result, mark, this.delimiter)) {
+        if (failures.isEmpty()) {
+          failures = new ArrayList<>(1);
+        }
+        failures.add(name.toString());
+        result.setLength(mark);
+        result.append(name);
+      }
+      result.append(this.delimiter);
+      from = to + 1;
+    }
+    return new Batch(result, failures);
+  }
+
+  /**
+   * @return true, if the characters of the builder after the start contain the character
+   */
+  private static boolean contains(final StringBuilder builder, final int start, final char c) {
+    for (int i = start; i < builder.length(); i++) {
+      if (builder.charAt(i) == c) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return false, if the name can not be decoded
+   */
+  private boolean convert(final CharSequence name, final StringBuilder result) {
+    try {
+      if (this.encode) {
+        FileNameEncoder.encode(this.dialect, name, result);
+        return true;
+      }
+      return name.length() == 0 || FileNameDecoder.decode(this.dialect, name, result);
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static <T> void put(final BlockingQueue<T> queue, final T element)
+      throws InterruptedIOException {
+    try {
+      queue.put(element);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("The filter is interrupted");
+    }
+  }
+
+  private static void join(final Thread thread)
+      throws InterruptedIOException {
+    try {
+      thread.join();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("The filter is interrupted");
+    }
+  }
+
+  /**
+   * the converted names and the names, which are not converted
+   */
+  private static final class Batch {
+    private final CharSequence names;
+    private final List<String> failures;
+
+    Batch(final CharSequence names, final List<String> failures) {
+      this.names = names;
+      this.failures = failures;
+    }
+  }
+
+  /**
+   * writes the batches in the order of the queue. The output is flushed, when the next batch
+   * is not ready. After a failure the batches are taken without writing, thus the reader is
+   * never blocked
+   */
+  private static final class Output
+      implements Runnable {
+    private static final Future<Batch> END = CompletableFuture.completedFuture(null);
+    private final BlockingQueue<Future<Batch>> queue;
+    private final Writer writer;
+    private final PrintStream errors;
+    private long failures;
+    private IOException failure;
+
+    Output(
+        final BlockingQueue<Future<Batch>> queue, final Writer writer,
+        final PrintStream errors) {
+      this.queue = queue;
+      this.writer = writer;
+      this.errors = errors;
+    }
+
+    @Override public void run() {
+      try {
+        while (true) {
+          Future<Batch> next = this.queue.poll();
+          if (next == null) {
+            this.flush();
+            next = this.queue.take();
+          }
+          if (next == END) {
+            this.flush();
+            return;
+          }
+          this.write(next);
+        }
+      } catch (final InterruptedException e) {
+        this.failure = new InterruptedIOException("The writer is interrupted");
+      }
+    }
+
+    private void write(final Future<Batch> next)
+        throws InterruptedException {
+      if (this.failure != null) {
+        return;
+      }
+      try {
+        final Batch batch = next.get();
+        this.writer.append(batch.names);
+        for (final String name : batch.failures) {
+          this.failures++;
+          this.errors.println("filename: can not decode " + name);
+        }
+      } catch (final IOException e) {
+        this.failure = e;
+      } catch (final ExecutionException e) {
+        this.failure = new IOException(e.getCause());
+      }
+    }
+
+    private void flush() {
+      if (this.failure == null) {
+        try {
+          this.writer.flush();
+        } catch (final IOException e) {
+          this.failure = e;
+        }
+      }
+    }
+
+    /**
+     * the result is read after the writer is joined
+     * @return the count of the names, which are not converted
+     */
+    long result()
+        throws IOException {
+      if (this.failure != null) {
+        throw this.failure;
+      }
+      return this.failures;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package su.izotov.java.objectlr.examples.filename.io;
+
+import java.io.CharConversionException;
+import java.io.IOException;
+import java.io.Reader;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameDecoder;
+
+/**
+ * the reader, which restores the text from the file name, read from the underlying reader,
+ * as StringFileName.toTextRepresentation() does it. The memory is bounded by the size of
+ * the buffer: only a token or the special character, which may continue in the next chunk,
+ * is kept between the reads.
+ * <p>If the delimiter is given, the file name is a sequence of names, separated by it.
+ * Every name is converted separately and the delimiter is read as is. The name, which is
+ * decoded to a text with the delimiter, is rejected, as it would be read as several names.</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public class FileNameDecodingReader
+    extends Reader {
+  private static final int NO_DELIMITER = -1;
+  private static final int BUFFER_SIZE = 8192;
+  private final Reader in;
+  private final int delimiter;
+  private final char[] buffer = new char[BUFFER_SIZE];
+  /**
+   * the file name, which is read but not converted yet
+   */
+  private final StringBuilder fileName = new StringBuilder();
+  private final StringBuilder text = new StringBuilder();
+  /**
+   * the position of the first text character, which is not read yet
+   */
+  private int position;
+  private boolean eof;
+  private boolean closed;
+
+  /**
+   * the whole underlying stream is one name
+   */
+  public FileNameDecodingReader(final Reader in) {
+    this(in, NO_DELIMITER);
+  }
+
+  /**
+   * @param delimiter the separator of names, for example '\n' or '\0'
+   */
+  public FileNameDecodingReader(final Reader in, final char delimiter) {
+    this(in, (int) delimiter);
+  }
+
+  private FileNameDecodingReader(final Reader in, final int delimiter) {
+    super(in);
+    this.in = in;
+    this.delimiter = delimiter;
+  }
+
+  @Override public int read(final char[] cbuf, final int off, final int len)
+      throws IOException {
+    synchronized (this.lock) {
+      if (this.closed) {
+        throw new IOException("Stream closed");
+      }
+      if (len == 0) {
+        return 0;
+      }
+      while (this.position == this.text.length()) {
+        if (this.eof) {
+          return -1;
+        }
+        this.text.setLength(0);
+        this.position = 0;
+        this.fill();
+      }
+      final int count = Math.min(len, this.text.length() - this.position);
+      this.text.getChars(this.position, this.position + count, cbuf, off);
+      this.position += count;
+      return count;
+    }
+  }
+
+  @Override public void close()
+      throws IOException {
+    synchronized (this.lock) {
+      this.closed = true;
+      this.in.close();
+    }
+  }
+
+  /**
+   * reads the next chunk of the file name and converts it
+   */
+  private void fill()
+      throws IOException {
+    final int count = this.in.read(this.buffer, 0, this.buffer.length);
+    if (count < 0) {
+      this.eof = true;
+    } else {
+      this.fileName.append(this.buffer, 0, count);
+    }
+    final int length = this.fileName.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      if (this.fileName.charAt(i) == this.delimiter) {
+        this.convert(start, i, true);
+        this.text.append((char) this.delimiter);
+        start = i + 1;
+      }
+    }
+    final int converted = this.convert(start, length, this.eof);
+    this.fileName.delete(0, converted);
+  }
+
+  private int convert(final int from, final int to, final boolean complete)
+      throws IOException {
+    final int mark = this.text.length();
+    final int converted =
+        FileNameDecoder.decode(this.fileName, from, to, complete, this.text);
+    if (complete && converted < to) {
+      throw new CharConversionException(
+          "the file name ends with the single special character: "
+          + this.fileName.substring(from, to));
+    }
+    if (this.delimiter != NO_DELIMITER) {
+      for (int i = mark; i < this.text.length(); i++) {
+        if (this.text.charAt(i) == this.delimiter) {
+          throw new CharConversionException(
+              "the file name is decoded to the separator: " + this.fileName.substring(from, to));
+        }
+      }
+    }
+    return converted;
+  }
+}
@@ -0,0 +1,132 @@
+package su.izotov.java.objectlr.examples.filename.io;
+
+import java.io.IOException;
+import java.io.Writer;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameEncoder;
+
+/**
+ * the writer, which converts the written text to the file name, as TextFileName
+ * .toStringRepresentation() does it, and writes the file name to the underlying writer.
+ * The memory is bounded by the size of the written chunk: only a token representation,
+ * which may continue in the next chunk, is kept between the writes.
+ * <p>If the delimiter is given, the text is a sequence of names, separated by it. Every
+ * name is converted separately and the delimiter is written as is.</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public class FileNameEncodingWriter
+    extends Writer {
+  private static final int NO_DELIMITER = -1;
+  private final Writer out;
+  private final int delimiter;
+  /**
+   * the text, which is written but not converted yet
+   */
+  private final StringBuilder text = new StringBuilder();
+  private final StringBuilder fileName = new StringBuilder();
+  private boolean closed;
+
+  /**
+   * the whole written text is one name
+   */
+  public FileNameEncodingWriter(final Writer out) {
+    this(out, NO_DELIMITER);
+  }
+
+  /**
+   * @param delimiter the separator of names, for example '\n' or '\0'
+   */
+  public FileNameEncodingWriter(final Writer out, final char delimiter) {
+    this(out, (int) delimiter);
+  }
+
+  private FileNameEncodingWriter(final Writer out, final int delimiter) {
+    super(out);
+    this.out = out;
+    this.delimiter = delimiter;
+  }
+
+  @Override public void write(final char[] cbuf, final int off, final int len)
+      throws IOException {
+    synchronized (this.lock) {
+      this.ensureOpen();
+      this.text.append(cbuf, off, len);
+      this.convert(false);
+    }
+  }
+
+  @Override public void write(final String str, final int off, final int len)
+      throws IOException {
+    synchronized (this.lock) {
+      this.ensureOpen();
+      this.text.append(str, off, off + len);
+      this.convert(false);
+    }
+  }
+
+  @Override public void write(final int c)
+      throws IOException {
+    synchronized (this.lock) {
+      this.ensureOpen();
+      this.text.append((char) c);
+      this.convert(false);
+    }
+  }
+
+  /**
+   * the token representation, which may continue in the next chunk, is not flushed
+   */
+  @Override public void flush()
+      throws IOException {
+    synchronized (this.lock) {
+      this.ensureOpen();
+      this.out.flush();
+    }
+  }
+
+  /**
+   * the rest of the text is converted as the end of the name
+   */
+  @Override public void close()
+      throws IOException {
+    synchronized (this.lock) {
+      if (this.closed) {
+        return;
+      }
+      this.convert(true);
+      this.closed = true;
+      this.out.close();
+    }
+  }
+
+  private void ensureOpen()
+      throws IOException {
+    if (this.closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  /**
+   * converts the written text and writes the result
+   * @param complete no more text will be written
+   */
+  private void convert(final boolean complete)
+      throws IOException {
+    final int length = this.text.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      if (this.text.charAt(i) == this.delimiter) {
+        FileNameEncoder.encode(this.text, start, i, true, this.fileName);
+        this.fileName.append((char) this.delimiter);
+        start = i + 1;
+      }
+    }
+    final int converted =
+        FileNameEncoder.encode(this.text, start, length, complete, this.fileName);
+    this.text.delete(0, converted);
+    this.out.append(this.fileName);
+    this.fileName.setLength(0);
+  }
+}
@@ -0,0 +1,102 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+/**
+ * the text, restored from the file name, or the error, which shows, that the name is not
+ * made by the encoder
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class DecodeResult {
+  private final String text;
+  private final Error error;
+  private final int position;
+
+  private DecodeResult(final String text, final Error error, final int position) {
+    this.text = text;
+    this.error = error;
+    this.position = position;
+  }
+
+  static DecodeResult decoded(final String text) {
+    return new DecodeResult(text, null, -1);
+  }
+
+  static DecodeResult failed(final Error error, final int position) {
+    return new DecodeResult(null, error, position);
+  }
+
+  public boolean valid() {
+    return this.error == null;
+  }
+
+  /**
+   * @return the restored text or null, if the name is not valid
+   */
+  public String text() {
+    return this.text;
+  }
+
+  /**
+   * @return the kind of the error or null, if the name is valid
+   */
+  public Error error() {
+    return this.error;
+  }
+
+  /**
+   * @return the position of the error in the file name or -1, if the name is valid
+   */
+  public int errorPosition() {
+    return this.position;
+  }
+
+  /**
+   * @return the restored text
+   * @throws InvalidFileNameException the name is not valid. The exception has no stack trace
+   */
+  public String textOrThrow()
+      throws InvalidFileNameException {
+    if (this.error != null) {
+      throw new InvalidFileNameException(this.error, this.position);
+    }
+    return this.text;
+  }
+
+  @Override public String toString() {
+    return this.error == null ? this.text : this.error + " at " + this.position;
+  }
+
+  /**
+   * the kinds of names, which the encoder does not make
+   */
+  public enum Error {
+    /**
+     * the name is empty
+     */
+    EMPTY,
+    /**
+     * the character, which the dialect replaces, or the trailing character at the end of the
+     * name
+     */
+    FORBIDDEN_CHARACTER,
+    /**
+     * the single special character at the end of the name
+     */
+    DANGLING_ESCAPE,
+    /**
+     * the special character before a text or a token, which the encoder does not mark, or
+     * before a name, which is not reserved
+     */
+    UNEXPECTED_ESCAPE,
+    /**
+     * the representation of the trailing character is not at the end of the name
+     */
+    MISPLACED_TOKEN,
+    /**
+     * the reserved name is not marked by the special character
+     */
+    RESERVED_NAME
+  }
+}
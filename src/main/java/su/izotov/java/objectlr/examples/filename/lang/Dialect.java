@@ -0,0 +1,312 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * the rules of file names of some filesystem or storage. The declarative table of the
+ * replaced characters, the characters replaced only at the end of the name and the reserved
+ * names is compiled once into the lookup table of the encoder and the automaton of the
+ * decoder, thus every dialect converts names as fast, as the default one.
+ * <p>The replacements of the characters are decoded at any place of the name. The reserved
+ * names are marked by the special character, which the decoder drops before a text</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class Dialect {
+  /**
+   * the language FileNameLang
+   */
+  public static final Dialect DEFAULT;
+  /**
+   * the default dialect, which also protects the reserved device names and the trailing dots
+   * and spaces, removed by Windows. The control characters are replaced by their names, the
+   * new line among them, as the back slash, which represents it by default, is the separator
+   * of the path
+   */
+  public static final Dialect WINDOWS;
+  /**
+   * the default dialect, which also replaces the characters, that object stores and URLs
+   * treat specially
+   */
+  public static final Dialect OBJECT_STORE;
+  /**
+   * the table of the characters and the names consists of ASCII characters
+   */
+  private static final int ALPHABET = 128;
+  /**
+   * the names of the control characters from 0x01, which Windows does not allow in names
+   */
+  private static final String[] CONTROLS = {
+      "SOH", "STX", "ETX", "EOT", "ENQ", "ACK", "BEL", "BS", "HT", "NEWLINE", "VT", "FF", "CR",
+      "SO", "SI", "DLE", "DC1", "DC2", "DC3", "DC4", "NAK", "SYN", "ETB", "CAN", "EM", "SUB",
+      "ESC", "FS", "GS", "RS", "US"};
+
+  static {
+    final Map<Character, String> table = new LinkedHashMap<>();
+    for (int i = 0; i < FileNameTokens.SOURCES.length; i++) {
+      table.put(FileNameTokens.TEXTS[i], FileNameTokens.SOURCES[i]);
+    }
+    DEFAULT = new Dialect(
+        FileNameTokens.ESCAPE, table, Collections.emptyMap(), Collections.emptyList());
+    final Map<Character, String> controls = new LinkedHashMap<>(table);
+    for (int i = 0; i < CONTROLS.length; i++) {
+      controls.put((char) (i + 1), '(' + CONTROLS[i] + ')');
+    }
+    WINDOWS = new Dialect(
+        FileNameTokens.ESCAPE, controls, Collections.emptyMap(), Collections.emptyList())
+        .withReservedNames(
+            "CON", "PRN", "AUX", "NUL", "COM1", "COM2", "COM3", "COM4", "COM5", "COM6",
+            "COM7", "COM8", "COM9", "LPT1", "LPT2", "LPT3", "LPT4", "LPT5", "LPT6", "LPT7",
+            "LPT8", "LPT9")
+        .withTrailing('.', "(DOT)")
+        .withTrailing(' ', "(SPACE)");
+    OBJECT_STORE = DEFAULT
+        .withReplacement('#', "(HASH)")
+        .withReplacement('%', "(PERCENT)")
+        .withReplacement('&', "(AMP)")
+        .withReplacement('+', "(PLUS)")
+        .withReplacement('[', "(LBRACKET)")
+        .withReplacement(']', "(RBRACKET)")
+        .withReplacement('{', "(LBRACE)")
+        .withReplacement('}', "(RBRACE)")
+        .withReplacement('^', "(CARET)")
+        .withReplacement('`', "(GRAVE)")
+        .withReplacement('~', "(TILDE)");
+  }
+
+  private final char escape;
+  private final Map<Character, String> replaced;
+  private final Map<Character, String> trailing;
+  private final List<String> reserved;
+  /**
+   * replacements of the characters, indexed by the character code. null means the
+   * character is copied as is
+   */
+  final String[] replacements = new String[ALPHABET];
+  /**
+   * replacements of the characters at the end of the name
+   */
+  final String[] trailers = new String[ALPHABET];
+  /**
+   * token representations, which must be marked by the special character, if they are
+   * entered by user. These are the representations without replaced characters
+   */
+  final String[] marked;
+  final TokenTrie markedTrie;
+  /**
+   * all token representations and the characters, represented by them
+   */
+  final String[] sources;
+  final char[] texts;
+  final TokenTrie trie;
+  /**
+   * the token, entered by user, is marked by the special character, indexed as sources
+   */
+  final boolean[] markable;
+  /**
+   * the index of the first token, which replaces a character only at the end of the name
+   */
+  final int firstTrailing;
+  final SpecialChars special;
+  private final String[] names;
+  private final boolean trailed;
+
+  private Dialect(
+      final char escape, final Map<Character, String> replaced,
+      final Map<Character, String> trailing, final List<String> reserved) {
+    this.escape = escape;
+    this.replaced = replaced;
+    this.trailing = trailing;
+    this.reserved = reserved;
+    ascii(escape);
+    this.replacements[escape] = String.valueOf(escape) + escape;
+    final int count = replaced.size() + trailing.size();
+    this.sources = new String[count];
+    this.texts = new char[count];
+    this.markable = new boolean[count];
+    this.firstTrailing = replaced.size();
+    int token = 0;
+    for (final Map.Entry<Character, String> entry : replaced.entrySet()) {
+      final char c = ascii(entry.getKey());
+      if (c == escape) {
+        throw new IllegalArgumentException("The special character can not be replaced");
+      }
+      this.replacements[c] = entry.getValue();
+      this.sources[token] = entry.getValue();
+      this.texts[token] = c;
+      token++;
+    }
+    for (final Map.Entry<Character, String> entry : trailing.entrySet()) {
+      final char c = ascii(entry.getKey());
+      if (this.replacements[c] != null) {
+        throw new IllegalArgumentException("The character is replaced everywhere: " + c);
+      }
+      this.trailers[c] = entry.getValue();
+      this.sources[token] = entry.getValue();
+      this.texts[token] = c;
+      token++;
+    }
+    this.trailed = !trailing.isEmpty();
+    this.trie = new TokenTrie(this.sources);
+    final List<String> marked = new ArrayList<>(count);
+    final StringBuilder special = new StringBuilder().append(escape);
+    for (final char c : replaced.keySet()) {
+      special.append(c);
+    }
+    for (int i = 0; i < count; i++) {
+      final String source = this.sources[i];
+      for (int j = 0; j < i; j++) {
+        if (this.sources[j].equals(source)) {
+          throw new IllegalArgumentException("Two characters are represented as " + source);
+        }
+      }
+      if (source.indexOf(escape) >= 0
+          || this.trailers[source.charAt(source.length() - 1)] != null) {
+        throw new IllegalArgumentException(
+            "Token representation can not contain the special character or end with the"
+                + " trailing character: " + source);
+      }
+      if (source.chars().noneMatch(c -> this.replacements[c] != null)) {
+        marked.add(source);
+        this.markable[i] = true;
+      }
+      if (special.indexOf(source.substring(0, 1)) < 0) {
+        special.append(source.charAt(0));
+      }
+    }
+    this.marked = marked.toArray(new String[0]);
+    this.markedTrie = new TokenTrie(this.marked);
+    this.special = new SpecialChars(special.toString().toCharArray());
+    this.names = reserved.toArray(new String[0]);
+    for (final String name : this.names) {
+      if (name.isEmpty() || name.indexOf('.') >= 0
+          || this.special.scalar(name, 0, name.length()) < name.length()
+          || this.trailing(name, name.length()) < name.length()) {
+        throw new IllegalArgumentException(
+            "Reserved name can not be empty, contain a dot or a special character or end"
+                + " with the trailing character: " + name);
+      }
+    }
+  }
+
+  private static char ascii(final char c) {
+    if (c >= ALPHABET) {
+      throw new IllegalArgumentException("The character must be ASCII: " + (int) c);
+    }
+    return c;
+  }
+
+  /**
+   * @return the dialect, which also replaces the character everywhere in the name
+   */
+  public Dialect withReplacement(final char c, final String source) {
+    final Map<Character, String> table = new LinkedHashMap<>(this.replaced);
+    table.put(c, source);
+    return new Dialect(this.escape, table, this.trailing, this.reserved);
+  }
+
+  /**
+   * @return the dialect, which also replaces the character at the end of the name
+   */
+  public Dialect withTrailing(final char c, final String source) {
+    final Map<Character, String> table = new LinkedHashMap<>(this.trailing);
+    table.put(c, source);
+    return new Dialect(this.escape, this.replaced, table, this.reserved);
+  }
+
+  /**
+   * @param reserved the names, which can not be the names of files regardless of the case of
+   * letters and an extension
+   * @return the dialect, which also marks the reserved names by the special character
+   */
+  public Dialect withReservedNames(final String... reserved) {
+    final List<String> names = new ArrayList<>(this.reserved);
+    for (final String name : reserved) {
+      names.add(name.toUpperCase(Locale.ROOT));
+    }
+    return new Dialect(this.escape, this.replaced, this.trailing, names);
+  }
+
+  /**
+   * @return the special character, which marks the representations entered by user
+   */
+  public char escape() {
+    return this.escape;
+  }
+
+  /**
+   * convert text to file name
+   * @see FileNameEncoder#encode(Dialect, String)
+   */
+  public String encode(final String text) {
+    return FileNameEncoder.encode(this, text);
+  }
+
+  /**
+   * restore text from the file name
+   * @see FileNameDecoder#decode(Dialect, String)
+   */
+  public String decode(final String fileName) {
+    return FileNameDecoder.decode(this, fileName);
+  }
+
+  /**
+   * @return true, if the conversion of a character depends on the end or the beginning of
+   * the name, not only on the neighbouring characters
+   */
+  boolean named() {
+    return this.trailed || this.names.length > 0;
+  }
+
+  /**
+   * @return the beginning of the characters, which are replaced at the end of the name
+   */
+  int trailing(final CharSequence text, final int length) {
+    int end = length;
+    if (this.trailed) {
+      while (end > 0 && text.charAt(end - 1) < ALPHABET
+          && this.trailers[text.charAt(end - 1)] != null) {
+        end--;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * @return true, if the part of the text before the first dot or the end is a reserved name
+   */
+  boolean reserved(final CharSequence text, final int end) {
+    if (this.names.length == 0) {
+      return false;
+    }
+    int stem = 0;
+    while (stem < end && text.charAt(stem) != '.') {
+      stem++;
+    }
+    for (final String name : this.names) {
+      if (name.length() == stem && same(name, text)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return true, if the text begins with the upper case name regardless of the case
+   */
+  private static boolean same(final String name, final CharSequence text) {
+    for (int i = 0; i < name.length(); i++) {
+      if (Character.toUpperCase(text.charAt(i)) != name.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,173 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.io.IOException;
+import su.izotov.java.objectlr.examples.filename.FileName;
+
+/**
+ * the text, which is edited by insertions, deletions and replacements, together with its file
+ * name. An edit converts only the changed part of the text and the units of the file name
+ * around it, which may change: a token representation entered by user may begin some
+ * characters before the edit and a changed unit may shift the units after it. Thus the edit
+ * near the previous one costs as much, as the length of the edit, and not of the name.
+ * <p>The name is not thread safe, as StringBuilder</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class EditableFileName
+    implements FileName, FileNameLang {
+  /**
+   * the flag of the width of a character, which continues the token representation
+   */
+  private static final char CONTINUATION = 0x8000;
+  private final Dialect dialect;
+  private final GapBuffer text;
+  private final GapBuffer fileName;
+  /**
+   * the count of the file name characters for every text character. The first character of a
+   * token representation entered by user also counts the special character
+   */
+  private final GapBuffer widths;
+  /**
+   * a text position and the file name position of it, the search of the next position begins
+   * here
+   */
+  private int cachedText;
+  private int cachedFileName;
+
+  public EditableFileName(final String text) {
+    this(Dialect.DEFAULT, text);
+  }
+
+  /**
+   * @param dialect the dialect without reserved names and trailing characters, which depend
+   * on the whole name
+   */
+  public EditableFileName(final Dialect dialect, final String text) {
+    if (dialect.named()) {
+      throw new IllegalArgumentException(
+          "The name of the dialect with reserved names or trailing characters can not be"
+              + " edited in parts");
+    }
+    this.dialect = dialect;
+    this.text = new GapBuffer(text.length() + 16);
+    this.fileName = new GapBuffer(text.length() + (text.length() >> 3) + 16);
+    this.widths = new GapBuffer(text.length() + 16);
+    this.replace(0, 0, text);
+  }
+
+  public EditableFileName insert(final int position, final CharSequence inserted) {
+    return this.replace(position, position, inserted);
+  }
+
+  public EditableFileName delete(final int from, final int to) {
+    return this.replace(from, to, "");
+  }
+
+  /**
+   * replace the part of the text
+   * @param from the beginning of the part, inclusive
+   * @param to the end of the part, exclusive
+   * @param replacement the new text of the part
+   */
+  public EditableFileName replace(
+      final int from, final int to, final CharSequence replacement) {
+    final int length = this.text.length();
+    if (from < 0 || to > length || from > to) {
+      throw new IndexOutOfBoundsException(
+          String.format("from %d, to %d, length %d", from, to, length));
+    }
+    // a token representation, entered by user, may end in the edited part
+    final int longest = this.dialect.markedTrie.longest();
+    final int start = this.unitStart(Math.max(0, from - Math.max(longest - 1, 0)));
+    final int fileNameStart = this.fileNamePosition(start);
+    this.text.replace(from, to, replacement);
+    final int delta = replacement.length() - (to - from);
+    final int editEnd = from + replacement.length();
+    final int newLength = length + delta;
+    final StringBuilder converted = new StringBuilder(2 * (editEnd - start) + 16);
+    final StringBuilder widths = new StringBuilder(editEnd - start + 16);
+    int position = start;
+    try {
+      // the units after the edit are the same, as soon as a unit ends, where an old one ended
+      while (position < newLength
+             && (position < editEnd || !this.boundary(position - delta, length))) {
+        final int before = converted.length();
+        final int next = FileNameEncoder.unit(
+            this.dialect, this.text, position, newLength, converted);
+        widths.append((char) (converted.length() - before - (next - position - 1)));
+        for (int i = position + 1; i < next; i++) {
+          widths.append((char) (CONTINUATION | 1));
+        }
+        position = next;
+      }
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+    final int oldEnd = position - delta;
+    final int fileNameEnd = this.fileNamePosition(oldEnd);
+    this.fileName.replace(fileNameStart, fileNameEnd, converted);
+    this.widths.replace(start, oldEnd, widths);
+    this.cachedText = start;
+    this.cachedFileName = fileNameStart;
+    return this;
+  }
+
+  /**
+   * @return the length of the text
+   */
+  public int length() {
+    return this.text.length();
+  }
+
+  /**
+   * @return the position in the file name, which corresponds to the position in the text
+   */
+  public int fileNamePosition(final int textPosition) {
+    int position = this.cachedText;
+    int result = this.cachedFileName;
+    while (position < textPosition) {
+      result += this.widths.charAt(position) & ~CONTINUATION;
+      position++;
+    }
+    while (position > textPosition) {
+      position--;
+      result -= this.widths.charAt(position) & ~CONTINUATION;
+    }
+    this.cachedText = position;
+    this.cachedFileName = result;
+    return result;
+  }
+
+  @Override public String toTextRepresentation() {
+    return this.text.toString();
+  }
+
+  @Override public String toStringRepresentation() {
+    return this.fileName.toString();
+  }
+
+  @Override public String toSource() {
+    return this.toStringRepresentation();
+  }
+
+  /**
+   * @return the beginning of the unit, which contains the position
+   */
+  private int unitStart(final int position) {
+    int result = position;
+    while (result > 0 && result < this.widths.length()
+           && (this.widths.charAt(result) & CONTINUATION) != 0) {
+      result--;
+    }
+    return result;
+  }
+
+  /**
+   * @return true, if a unit of the old file name begins at the old position
+   */
+  private boolean boundary(final int position, final int length) {
+    return position >= length || (this.widths.charAt(position) & CONTINUATION) == 0;
+  }
+}
@@ -0,0 +1,376 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * the deterministic automaton, which restores the text from the file name in one pass. It
+ * accepts the same language, as FNLang with tokens, but creates no senses. The special
+ * character '_' and the sense following it are processed together
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class FileNameDecoder {
+  /**
+   * the result of the validation of a name without errors
+   */
+  private static final long VALID = -1L;
+  /**
+   * the validation reuses the text of the thread, unless it has grown too much
+   */
+  private static final int SCRATCH_LIMIT = 1 << 16;
+  private static final ThreadLocal<StringBuilder> SCRATCH =
+      ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+  private FileNameDecoder() {
+  }
+
+  /**
+   * restore text from the file name
+   * @param fileName the file name, produced by TextFileName.toStringRepresentation()
+   * @return text or null, if the name is not accepted by the automaton: it is empty or ends
+   * with the single special character. tryDecode() gives the exact error
+   */
+  public static String decode(final String fileName) {
+    return decode(Dialect.DEFAULT, fileName);
+  }
+
+  /**
+   * restore text from the file name of the dialect
+   * @return text or null, if the name is empty or ends with the single special character
+   */
+  public static String decode(final Dialect dialect, final String fileName) {
+    final int length = fileName.length();
+    if (length == 0) {
+      return null;
+    }
+    if (SpecialScan.find(dialect.special, fileName, 0, length) == length) {
+      return fileName;
+    }
+    final StringBuilder result = new StringBuilder(length);
+    try {
+      if (decode(dialect, fileName, 0, length, true, result) < length) {
+        return null;
+      }
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return result.toString();
+  }
+
+  /**
+   * restore the text from the file name and append it to the destination. Nothing is
+   * allocated, if the destination has enough capacity
+   * @return false, if the name ends with the single special character
+   */
+  public static boolean decode(final CharSequence fileName, final Appendable result)
+      throws IOException {
+    return decode(Dialect.DEFAULT, fileName, result);
+  }
+
+  /**
+   * restore the text from the file name of the dialect and append it to the destination
+   * @return false, if the name ends with the single special character
+   */
+  public static boolean decode(
+      final Dialect dialect, final CharSequence fileName, final Appendable result)
+      throws IOException {
+    final int length = fileName.length();
+    return decode(dialect, fileName, 0, length, true, result) == length;
+  }
+
+  /**
+   * restore the text from the file name and put it into the buffer
+   * @return false, if the name ends with the single special character
+   * @throws java.nio.BufferOverflowException there is not enough room in the buffer
+   */
+  public static boolean decode(final CharSequence fileName, final CharBuffer result) {
+    try {
+      return decode(fileName, (Appendable) result);
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * restore the text from the file name and put it into the buffer in UTF-8
+   * @return false, if the name ends with the single special character
+   * @throws java.nio.BufferOverflowException there is not enough room in the buffer
+   */
+  public static boolean decode(final CharSequence fileName, final ByteBuffer result) {
+    final Utf8Appendable appendable = Utf8Appendable.into(result);
+    try {
+      final boolean decoded = decode(fileName, appendable);
+      appendable.finish();
+      return decoded;
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * restore the part of the text from the part of the file name
+   * @see #decode(CharSequence, int, int, boolean, Appendable)
+   */
+  public static int decode(
+      final CharSequence fileName, final int from, final int to, final boolean complete,
+      final StringBuilder result) {
+    try {
+      return decode(fileName, from, to, complete, (Appendable) result);
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * restore the part of the text from the part of the file name
+   * @see #decode(Dialect, CharSequence, int, int, boolean, Appendable)
+   */
+  public static int decode(
+      final CharSequence fileName, final int from, final int to, final boolean complete,
+      final Appendable result)
+      throws IOException {
+    return decode(Dialect.DEFAULT, fileName, from, to, complete, result);
+  }
+
+  /**
+   * restore the part of the text from the part of the file name
+   * @param dialect the rules of the file name
+   * @param fileName the file name
+   * @param from the beginning of the part
+   * @param to the end of the part
+   * @param complete the file name ends at the end of the part. Otherwise a token or the
+   * special character, which may continue after the end, are left unconverted
+   * @param result the text is appended to it
+   * @return the end of the converted part. It is less than the end of the complete part, if
+   * the part ends with the single special character
+   */
+  public static int decode(
+      final Dialect dialect, final CharSequence fileName, final int from, final int to,
+      final boolean complete, final Appendable result)
+      throws IOException {
+    final SpecialChars special = dialect.special;
+    final TokenTrie trie = dialect.trie;
+    final char escape = dialect.escape();
+    final int longest = trie.longest();
+    int i = from;
+    while (i < to) {
+      final char c = fileName.charAt(i);
+      if (!special.special(c)) {
+        final int clean = SpecialScan.find(special, fileName, i + 1, to);
+        SpecialChars.copy(fileName, i, clean, result);
+        i = clean;
+        continue;
+      }
+      // the special character waits for the next sense
+      final boolean escaped = c == escape;
+      final int next = escaped ? i + 1 : i;
+      if (next == to) {
+        break;
+      }
+      final char n = fileName.charAt(next);
+      if (escaped && n == escape) {
+        // the second special character is a text
+        result.append(escape);
+        i = next + 1;
+        continue;
+      }
+      int token = -1;
+      if (trie.starts(n)) {
+        if (!complete && to - next < longest) {
+          break;
+        }
+        token = trie.match(fileName, next, to);
+      }
+      if (token < 0) {
+        // an unrecognized text swallows the preceding special character
+        result.append(n);
+        i = next + 1;
+      } else if (escaped) {
+        result.append(dialect.sources[token]);
+        i = next + dialect.sources[token].length();
+      } else {
+        result.append(dialect.texts[token]);
+        i = next + dialect.sources[token].length();
+      }
+    }
+    return i;
+  }
+
+  /**
+   * @return the count of tokens in the file name, including the special characters
+   */
+  public static int tokens(final CharSequence fileName) {
+    final Dialect dialect = Dialect.DEFAULT;
+    final TokenTrie trie = dialect.trie;
+    final int length = fileName.length();
+    int count = 0;
+    int i = 0;
+    while (i < length) {
+      final char c = fileName.charAt(i);
+      final int token = trie.starts(c) ? trie.match(fileName, i, length) : -1;
+      if (token >= 0) {
+        count++;
+        i += dialect.sources[token].length();
+      } else {
+        if (c == dialect.escape()) {
+          count++;
+        }
+        i++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * restore the text from the file name, if it is made by the encoder. Nothing is thrown
+   * @return the text or the first error
+   */
+  public static DecodeResult tryDecode(final String fileName) {
+    return tryDecode(Dialect.DEFAULT, fileName);
+  }
+
+  /**
+   * restore the text from the file name of the dialect, if it is made by the encoder
+   * @return the text or the first error
+   */
+  public static DecodeResult tryDecode(final Dialect dialect, final String fileName) {
+    final StringBuilder text = new StringBuilder(fileName.length());
+    final long error = validate(dialect, fileName, text);
+    if (error == VALID) {
+      return DecodeResult.decoded(text.toString());
+    }
+    return DecodeResult.failed(
+        DecodeResult.Error.values()[(int) (error >>> 32)], (int) error);
+  }
+
+  /**
+   * @return true, if the file name is made by the encoder. Nothing is allocated
+   */
+  public static boolean isValidEncoded(final CharSequence fileName) {
+    return isValidEncoded(Dialect.DEFAULT, fileName);
+  }
+
+  /**
+   * @return true, if the file name is made by the encoder of the dialect
+   */
+  public static boolean isValidEncoded(final Dialect dialect, final CharSequence fileName) {
+    StringBuilder text = SCRATCH.get();
+    if (text.capacity() > SCRATCH_LIMIT) {
+      text = new StringBuilder(256);
+      SCRATCH.set(text);
+    }
+    text.setLength(0);
+    return validate(dialect, fileName, text) == VALID;
+  }
+
+  /**
+   * restore the text and check, that the encoder makes the same file name from it. Unlike
+   * decode(), the special character before a text or a token without replaced characters and
+   * the replaced characters are errors. The names "_." and "_..", which PathCodec writes for the
+   * dot segments of the path, are valid as the marked reserved names
+   * @param text the empty builder of the text
+   * @return VALID or the ordinal of the error in the high word and its position in the low one
+   */
+  private static long validate(
+      final Dialect dialect, final CharSequence fileName, final StringBuilder text) {
+    final int length = fileName.length();
+    if (length == 0) {
+      return error(DecodeResult.Error.EMPTY, 0);
+    }
+    final TokenTrie trie = dialect.trie;
+    final char escape = dialect.escape();
+    // the marker of the reserved name
+    boolean marked = false;
+    // the text and the name positions of the last run of trailing representations
+    int runText = -1;
+    int runName = -1;
+    int i = 0;
+    while (i < length) {
+      final char c = fileName.charAt(i);
+      if (c == escape) {
+        if (i + 1 == length) {
+          return error(DecodeResult.Error.DANGLING_ESCAPE, i);
+        }
+        if (runText >= 0) {
+          return error(DecodeResult.Error.MISPLACED_TOKEN, runName);
+        }
+        final char n = fileName.charAt(i + 1);
+        if (n == escape) {
+          text.append(escape);
+          i += 2;
+          continue;
+        }
+        final int token = trie.starts(n) ? trie.match(fileName, i + 1, length) : -1;
+        if (token >= 0) {
+          if (!dialect.markable[token]) {
+            return error(DecodeResult.Error.UNEXPECTED_ESCAPE, i);
+          }
+          text.append(dialect.sources[token]);
+          i += 1 + dialect.sources[token].length();
+          continue;
+        }
+        if (i > 0) {
+          return error(DecodeResult.Error.UNEXPECTED_ESCAPE, i);
+        }
+        // it is checked against the restored name at the end
+        marked = true;
+        i++;
+        continue;
+      }
+      final int token = trie.starts(c) ? trie.match(fileName, i, length) : -1;
+      if (token >= 0) {
+        if (token >= dialect.firstTrailing) {
+          if (runText < 0) {
+            runText = text.length();
+            runName = i;
+          }
+        } else if (runText >= 0) {
+          return error(DecodeResult.Error.MISPLACED_TOKEN, runName);
+        }
+        text.append(dialect.texts[token]);
+        i += dialect.sources[token].length();
+        continue;
+      }
+      if (c < dialect.replacements.length && dialect.replacements[c] != null) {
+        return error(DecodeResult.Error.FORBIDDEN_CHARACTER, i);
+      }
+      if (runText >= 0) {
+        return error(DecodeResult.Error.MISPLACED_TOKEN, runName);
+      }
+      text.append(c);
+      i++;
+    }
+    if (marked && dots(text)) {
+      return VALID;
+    }
+    // the trailing characters must be represented by the last run of tokens
+    final int run = runText >= 0 ? runText : text.length();
+    final int trailing = dialect.trailing(text, run);
+    if (trailing < run) {
+      return error(
+          DecodeResult.Error.FORBIDDEN_CHARACTER,
+          (runText >= 0 ? runName : length) - (run - trailing));
+    }
+    if (dialect.reserved(text, trailing) != marked) {
+      return error(
+          marked ? DecodeResult.Error.UNEXPECTED_ESCAPE : DecodeResult.Error.RESERVED_NAME, 0);
+    }
+    return VALID;
+  }
+
+  /**
+   * @return true, if the text is "." or ".."
+   */
+  private static boolean dots(final CharSequence text) {
+    final int length = text.length();
+    return (length == 1 || length == 2) && text.charAt(0) == '.' && text.charAt(length - 1) == '.';
+  }
+
+  private static long error(final DecodeResult.Error error, final int position) {
+    return (long) error.ordinal() << 32 | position;
+  }
+}
@@ -0,0 +1,198 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+
+/**
+ * single pass, table driven conversion of an arbitrary text into a file name. It gives the
+ * same result as the sequence of replacements described in TextFileName
+ * .toStringRepresentation(), but scans the text only once
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class FileNameEncoder {
+  private FileNameEncoder() {
+  }
+
+  /**
+   * convert text to file name
+   * @param text arbitrary text
+   * @return file name, which satisfies filesystem's naming restrictions
+   */
+  public static String encode(final String text) {
+    return encode(Dialect.DEFAULT, text);
+  }
+
+  /**
+   * convert text to file name of the dialect
+   * @param text arbitrary text
+   * @return file name, which satisfies the restrictions of the dialect
+   */
+  public static String encode(final Dialect dialect, final String text) {
+    final int length = text.length();
+    final int end = dialect.trailing(text, length);
+    if (end == length && !dialect.reserved(text, end)
+        && SpecialScan.find(dialect.special, text, 0, length) == length) {
+      // most of names are not changed
+      return text;
+    }
+    // most of names have no special characters, thus a small reserve is enough
+    final StringBuilder result = new StringBuilder(length + (length >> 3) + 8);
+    try {
+      encode(dialect, text, end, result);
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return result.toString();
+  }
+
+  /**
+   * convert the text to the file name, which is appended to the destination. Nothing is
+   * allocated, if the destination has enough capacity
+   */
+  public static void encode(final CharSequence text, final Appendable result)
+      throws IOException {
+    encode(Dialect.DEFAULT, text, result);
+  }
+
+  /**
+   * convert the text to the file name of the dialect, which is appended to the destination
+   */
+  public static void encode(
+      final Dialect dialect, final CharSequence text, final Appendable result)
+      throws IOException {
+    encode(dialect, text, dialect.trailing(text, text.length()), result);
+  }
+
+  /**
+   * the reserved name is marked by the special character, which the decoder drops before a
+   * text, and the characters after the end are replaced by the trailing representations
+   */
+  private static void encode(
+      final Dialect dialect, final CharSequence text, final int end, final Appendable result)
+      throws IOException {
+    if (dialect.reserved(text, end)) {
+      result.append(dialect.escape());
+    }
+    encode(dialect, text, 0, end, true, result);
+    for (int i = end; i < text.length(); i++) {
+      result.append(dialect.trailers[text.charAt(i)]);
+    }
+  }
+
+  /**
+   * convert the text to the file name, which is put into the buffer
+   * @throws java.nio.BufferOverflowException there is not enough room in the buffer
+   */
+  public static void encode(final CharSequence text, final CharBuffer result) {
+    try {
+      encode(text, 0, text.length(), true, result);
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * convert the text to the file name, which is put into the buffer in UTF-8
+   * @throws java.nio.BufferOverflowException there is not enough room in the buffer
+   */
+  public static void encode(final CharSequence text, final ByteBuffer result) {
+    final Utf8Appendable appendable = Utf8Appendable.into(result);
+    try {
+      encode(text, 0, text.length(), true, appendable);
+      appendable.finish();
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * convert the part of the text to the part of file name
+   * @see #encode(CharSequence, int, int, boolean, Appendable)
+   */
+  public static int encode(
+      final CharSequence text, final int from, final int to, final boolean complete,
+      final StringBuilder result) {
+    try {
+      return encode(text, from, to, complete, (Appendable) result);
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * convert the part of the text to the part of file name
+   * @see #encode(Dialect, CharSequence, int, int, boolean, Appendable)
+   */
+  public static int encode(
+      final CharSequence text, final int from, final int to, final boolean complete,
+      final Appendable result)
+      throws IOException {
+    return encode(Dialect.DEFAULT, text, from, to, complete, result);
+  }
+
+  /**
+   * convert the part of the text to the part of file name. The rules of the names, reserved
+   * names and trailing characters, are applied only by the conversions of complete names
+   * @param dialect the rules of the file name
+   * @param text arbitrary text
+   * @param from the beginning of the part
+   * @param to the end of the part
+   * @param complete the text ends at the end of the part. Otherwise a token representation,
+   * which may continue after the end, is left unconverted
+   * @param result the file name is appended to it
+   * @return the end of the converted part
+   */
+  public static int encode(
+      final Dialect dialect, final CharSequence text, final int from, final int to,
+      final boolean complete, final Appendable result)
+      throws IOException {
+    final SpecialChars special = dialect.special;
+    final TokenTrie markedTrie = dialect.markedTrie;
+    final int longest = markedTrie.longest();
+    int i = from;
+    while (i < to) {
+      final char c = text.charAt(i);
+      if (!special.special(c)) {
+        final int next = SpecialScan.find(special, text, i + 1, to);
+        SpecialChars.copy(text, i, next, result);
+        i = next;
+        continue;
+      }
+      if (!complete && to - i < longest && markedTrie.starts(c)) {
+        break;
+      }
+      i = unit(dialect, text, i, to, result);
+    }
+    return i;
+  }
+
+  /**
+   * convert the character or the token representation entered by user, which begins at the
+   * position
+   * @return the end of the converted unit of the text
+   */
+  static int unit(
+      final Dialect dialect, final CharSequence text, final int position, final int to,
+      final Appendable result)
+      throws IOException {
+    final char c = text.charAt(position);
+    if (dialect.markedTrie.starts(c)) {
+      final int marked = dialect.markedTrie.match(text, position, to);
+      if (marked >= 0) {
+        result.append(dialect.escape()).append(dialect.marked[marked]);
+        return position + dialect.marked[marked].length();
+      }
+    }
+    final String replacement = c < dialect.replacements.length ? dialect.replacements[c] : null;
+    if (replacement == null) {
+      result.append(c);
+    } else {
+      result.append(replacement);
+    }
+    return position + 1;
+  }
+}
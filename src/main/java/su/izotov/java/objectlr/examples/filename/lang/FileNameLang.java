@@ -2,19 +2,7 @@ package su.izotov.java.objectlr.examples.filename.lang;
 
 
 import su.izotov.java.objectlr.Sense;
-import su.izotov.java.objectlr.examples.filename.lang.token.BSlash;
-import su.izotov.java.objectlr.examples.filename.lang.token.Colon;
-import su.izotov.java.objectlr.examples.filename.lang.token.LAngle;
-import su.izotov.java.objectlr.examples.filename.lang.token.NewLine;
-import su.izotov.java.objectlr.examples.filename.lang.token.Pipe;
-import su.izotov.java.objectlr.examples.filename.lang.token.Question;
-import su.izotov.java.objectlr.examples.filename.lang.token.Quot;
-import su.izotov.java.objectlr.examples.filename.lang.token.RAngle;
-import su.izotov.java.objectlr.examples.filename.lang.token.Slash;
-import su.izotov.java.objectlr.examples.filename.lang.token.Star;
-import su.izotov.java.objectlr.examples.filename.lang.token.UnderScore;
 import su.izotov.java.objectlr.tokens.Tokens;
-import su.izotov.java.objectlr.tokens.TokensOf;
 
 /**
  * the filename language
@@ -26,21 +14,10 @@ import su.izotov.java.objectlr.tokens.TokensOf;
 public interface FileNameLang
     extends Sense {
   /**
-   * It is an example without any optimisations
+   * the token table is immutable, thus it is built once and shared
    */
   @Override default Tokens tokens() {
-    return new TokensOf(
-        new BSlash()//
-        , new Colon()//
-        , new LAngle()//
-        , new NewLine()//
-        , new Pipe()//
-        , new Question()//
-        , new Quot()//
-        , new RAngle()//
-        , new Slash()//
-        , new Star()//
-        , new UnderScore());
+    return FileNameTokens.TOKENS;
   }
 
   @Override default Sense textToken(String text) {
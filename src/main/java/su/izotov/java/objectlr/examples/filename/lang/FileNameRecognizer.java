@@ -0,0 +1,174 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.util.Arrays;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.Sense;
+import su.izotov.java.objectlr.examples.filename.lang.token.FileNameToken;
+import su.izotov.java.objectlr.examples.filename.lang.token.UnderScore;
+
+/**
+ * the shift-reduce recognition of the language, which concatenates the same senses as the
+ * language library does, but without the search of the concat method by reflection. Every
+ * sense on the stack has its kind, and the rule of a pair of senses is taken from the table by
+ * the kinds, then the concat method of the rule is called directly.
+ * <p>The table is built once by hand from the concat methods of the senses, choosing the most
+ * specific one for every pair, as the library does. The senses, which have no rule, are
+ * shifted. The result of every rule is a TextFileName.</p>
+ * <p>StringFileName restores texts by the automaton, which needs no senses. The recognizer
+ * is for the callers, which need the results of the concat methods of the language, as the
+ * library gives them, without its reflection.</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class FileNameRecognizer {
+  /**
+   * the kinds of senses: the language, the special character, the translated token and the
+   * text
+   */
+  static final int LANGUAGE = 0;
+  static final int UNDERSCORE = 1;
+  static final int TOKEN = 2;
+  static final int TEXT = 3;
+  /**
+   * the rules, the pair of senses is not concatenated by SHIFT
+   */
+  static final int SHIFT = 0;
+  static final int LANGUAGE_TOKEN = 1;
+  static final int UNDERSCORE_TOKEN = 2;
+  static final int UNDERSCORE_UNDERSCORE = 3;
+  static final int TEXT_TEXT = 4;
+  static final int TEXT_TOKEN = 5;
+  static final int TOKEN_TOKEN = 6;
+  /**
+   * the rule by the kind of the left sense and the kind of the right one
+   */
+  static final int[][] RULES = {
+      // LANGUAGE: FNLang.concat(FileNameToken), UnderScore is not a FileNameToken
+      {SHIFT, SHIFT, LANGUAGE_TOKEN, LANGUAGE_TOKEN},
+      // UNDERSCORE: UnderScore.concat(UnderScore) and UnderScore.concat(FileNameToken)
+      {SHIFT, UNDERSCORE_UNDERSCORE, UNDERSCORE_TOKEN, UNDERSCORE_TOKEN},
+      // TOKEN: FileNameToken.concat(FileNameToken)
+      {SHIFT, SHIFT, TOKEN_TOKEN, TOKEN_TOKEN},
+      // TEXT: TextFileName.concat(FileNameToken) and TextFileName.concat(TextFileName)
+      {SHIFT, SHIFT, TEXT_TOKEN, TEXT_TEXT}};
+  private static final FNLang LANGUAGE_SENSE = new FNLang();
+  private static final UnderScore UNDERSCORE_SENSE = new UnderScore();
+  private static final Dialect DIALECT = Dialect.DEFAULT;
+
+  private FileNameRecognizer() {
+  }
+
+  /**
+   * @return the text of the file name, the same, which the language library recognizes
+   * @throws RecognitionException the senses of the name are not concatenated into one text
+   */
+  public static TextFileName recognize(final String fileName)
+      throws RecognitionException {
+    final Stack stack = new Stack();
+    final int length = fileName.length();
+    int text = 0;
+    int i = 0;
+    while (i < length) {
+      i = SpecialScan.find(DIALECT.special, fileName, i, length);
+      if (i == length) {
+        break;
+      }
+      final boolean escape = fileName.charAt(i) == FileNameTokens.ESCAPE;
+      final int token = escape ? -1 : DIALECT.trie.match(fileName, i, length);
+      if (!escape && token < 0) {
+        i++;
+        continue;
+      }
+      if (text < i) {
+        stack.push(new TextFileName(fileName.substring(text, i)), TEXT);
+      }
+      if (escape) {
+        stack.push(UNDERSCORE_SENSE, UNDERSCORE);
+        i++;
+      } else {
+        stack.push(FileNameTokens.token(token), TOKEN);
+        i += DIALECT.sources[token].length();
+      }
+      text = i;
+    }
+    if (text < length) {
+      stack.push(new TextFileName(fileName.substring(text)), TEXT);
+    }
+    return stack.result(fileName);
+  }
+
+  /**
+   * @return the result of the rule, it is a TextFileName
+   */
+  static Sense reduce(final int rule, final Sense left, final Sense right)
+      throws RecognitionException {
+    switch (rule) {
+      case LANGUAGE_TOKEN:
+        return ((FNLang) left).concat((FileNameToken) right);
+      case UNDERSCORE_TOKEN:
+        return ((UnderScore) left).concat((FileNameToken) right);
+      case UNDERSCORE_UNDERSCORE:
+        return ((UnderScore) left).concat((UnderScore) right);
+      case TEXT_TEXT:
+        return ((TextFileName) left).concat((TextFileName) right);
+      case TEXT_TOKEN:
+        return ((TextFileName) left).concat((FileNameToken) right);
+      case TOKEN_TOKEN:
+        return ((FileNameToken) left).concat((FileNameToken) right);
+      default:
+        throw new IllegalArgumentException("The senses are not concatenated: " + rule);
+    }
+  }
+
+  /**
+   * the stack of senses and their kinds. The senses are reduced at once, therefore the stack
+   * holds the language, the special character and one more sense at most
+   */
+  private static final class Stack {
+    private Sense[] senses = new Sense[4];
+    private int[] kinds = new int[4];
+    private int size;
+
+    private Stack() {
+      this.senses[0] = LANGUAGE_SENSE;
+      this.kinds[0] = LANGUAGE;
+      this.size = 1;
+    }
+
+    /**
+     * shift the sense and reduce the top of the stack, while there is a rule
+     */
+    void push(final Sense sense, final int kind)
+        throws RecognitionException {
+      Sense right = sense;
+      int rightKind = kind;
+      while (this.size > 0) {
+        final int rule = RULES[this.kinds[this.size - 1]][rightKind];
+        if (rule == SHIFT) {
+          break;
+        }
+        this.size--;
+        right = reduce(rule, this.senses[this.size], right);
+        rightKind = TEXT;
+      }
+      if (this.size == this.senses.length) {
+        this.senses = Arrays.copyOf(this.senses, 2 * this.size);
+        this.kinds = Arrays.copyOf(this.kinds, 2 * this.size);
+      }
+      this.senses[this.size] = right;
+      this.kinds[this.size] = rightKind;
+      this.size++;
+    }
+
+    TextFileName result(final String fileName)
+        throws RecognitionException {
+      if (this.size != 1 || this.kinds[0] != TEXT) {
+        throw new RecognitionException(
+            "The file name is not recognized as a text: '" + fileName + "'");
+      }
+      return (TextFileName) this.senses[0];
+    }
+  }
+}
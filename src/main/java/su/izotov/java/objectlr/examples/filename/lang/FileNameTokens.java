@@ -0,0 +1,83 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.token.BSlash;
+import su.izotov.java.objectlr.examples.filename.lang.token.Colon;
+import su.izotov.java.objectlr.examples.filename.lang.token.FileNameToken;
+import su.izotov.java.objectlr.examples.filename.lang.token.LAngle;
+import su.izotov.java.objectlr.examples.filename.lang.token.NewLine;
+import su.izotov.java.objectlr.examples.filename.lang.token.Pipe;
+import su.izotov.java.objectlr.examples.filename.lang.token.Question;
+import su.izotov.java.objectlr.examples.filename.lang.token.Quot;
+import su.izotov.java.objectlr.examples.filename.lang.token.RAngle;
+import su.izotov.java.objectlr.examples.filename.lang.token.Slash;
+import su.izotov.java.objectlr.examples.filename.lang.token.Star;
+import su.izotov.java.objectlr.examples.filename.lang.token.UnderScore;
+import su.izotov.java.objectlr.token.Token;
+import su.izotov.java.objectlr.tokens.Tokens;
+import su.izotov.java.objectlr.tokens.TokensOf;
+
+/**
+ * the immutable table of the language tokens. It is built once from the token objects and
+ * shared by all FileNameLang implementations and the default dialect
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class FileNameTokens {
+  /**
+   * the special character, represented by UnderScore
+   */
+  static final char ESCAPE = '_';
+  /**
+   * tokens, which are translated into characters
+   */
+  private static final FileNameToken[] TRANSLATED = {
+      new BSlash(), new Colon(), new LAngle(), new NewLine(), new Pipe(), new Question(),
+      new Quot(), new RAngle(), new Slash(), new Star()};
+  /**
+   * token representations, indexed as TRANSLATED
+   */
+  static final String[] SOURCES = new String[TRANSLATED.length];
+  /**
+   * characters, represented by the tokens, indexed as TRANSLATED
+   */
+  static final char[] TEXTS = new char[TRANSLATED.length];
+  /**
+   * the tokens for the language recognition
+   */
+  static final Tokens TOKENS;
+
+  static {
+    final Token[] tokens = new Token[TRANSLATED.length + 1];
+    for (int i = 0; i < TRANSLATED.length; i++) {
+      SOURCES[i] = TRANSLATED[i].toSource();
+      TEXTS[i] = text(TRANSLATED[i]);
+      tokens[i] = TRANSLATED[i];
+    }
+    tokens[TRANSLATED.length] = new UnderScore();
+    TOKENS = new TokensOf(tokens);
+  }
+
+  private FileNameTokens() {
+  }
+
+  /**
+   * @return the token, which source is SOURCES[index]
+   */
+  static FileNameToken token(final int index) {
+    return TRANSLATED[index];
+  }
+
+  /**
+   * the token is translated without recognition of anything
+   */
+  private static char text(final FileNameToken token) {
+    try {
+      return token.toTextRepresentation().charAt(0);
+    } catch (final RecognitionException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
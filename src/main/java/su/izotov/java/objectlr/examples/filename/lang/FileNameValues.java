@@ -0,0 +1,214 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.FileName;
+import su.izotov.java.objectlr.examples.filename.StringFileName;
+
+/**
+ * the equality, the hash and the order of file names by their texts. The text of a
+ * StringFileName is restored character by character, while the names are compared, thus it
+ * is never built. The names of the same representation are compared at once: the texts of
+ * TextFileName and the equal strings of StringFileName.
+ * <p>The names are ordered as their texts by String.compareTo(), and the hash is the hash of
+ * the text by String.hashCode(). A StringFileName, which is not decoded (it is empty or ends
+ * with the single special character), has no text. Such names are ordered after all others by
+ * the file name and are equal only to the same file name. A TextFileName of the null text is
+ * ordered before all others, its hash is zero.</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class FileNameValues {
+  private static final Dialect DIALECT = Dialect.DEFAULT;
+
+  private FileNameValues() {
+  }
+
+  /**
+   * @return true, if the file name is decoded: it is not empty and does not end with the
+   * single special character
+   */
+  public static boolean decodable(final CharSequence fileName) {
+    int escapes = 0;
+    for (int i = fileName.length() - 1; i >= 0 && fileName.charAt(i) == DIALECT.escape(); i--) {
+      escapes++;
+    }
+    return fileName.length() > 0 && escapes % 2 == 0;
+  }
+
+  /**
+   * reject the name, which is not decoded, without the recognition
+   * @throws InvalidFileNameException the name is empty or ends with the single special
+   * character. The exception has no stack trace
+   */
+  public static void check(final CharSequence fileName)
+      throws InvalidFileNameException {
+    if (fileName.length() == 0) {
+      throw new InvalidFileNameException(DecodeResult.Error.EMPTY, 0);
+    }
+    if (!decodable(fileName)) {
+      throw new InvalidFileNameException(
+          DecodeResult.Error.DANGLING_ESCAPE, fileName.length() - 1);
+    }
+  }
+
+  /**
+   * @return the hash of the text of the file name, the same, as String.hashCode() of it, or
+   * the hash of the file name, if it is not decoded
+   */
+  public static int hash(final CharSequence fileName) {
+    if (!decodable(fileName)) {
+      return fileName.toString().hashCode();
+    }
+    final Cursor cursor = new Cursor(fileName, true);
+    int hash = 0;
+    for (int c = cursor.next(); c >= 0; c = cursor.next()) {
+      hash = 31 * hash + c;
+    }
+    return hash;
+  }
+
+  /**
+   * @return true, if the other object is a TextFileName or a StringFileName of the same text
+   */
+  public static boolean equal(final FileName name, final Object other) {
+    if (name == other) {
+      return true;
+    }
+    if (!(other instanceof TextFileName || other instanceof StringFileName)) {
+      return false;
+    }
+    return name.hashCode() == other.hashCode() && compare(name, (FileName) other) == 0;
+  }
+
+  /**
+   * compare the texts of the names
+   */
+  public static int compare(final FileName left, final FileName right) {
+    final boolean leftNull = nullText(left);
+    final boolean rightNull = nullText(right);
+    if (leftNull || rightNull) {
+      return Boolean.compare(rightNull, leftNull);
+    }
+    if (left instanceof TextFileName && right instanceof TextFileName) {
+      return ((TextFileName) left).toTextRepresentation()
+          .compareTo(((TextFileName) right).toTextRepresentation());
+    }
+    final Cursor leftCursor = cursor(left);
+    final Cursor rightCursor = cursor(right);
+    if (leftCursor.valid != rightCursor.valid) {
+      return leftCursor.valid ? -1 : 1;
+    }
+    if (!leftCursor.valid) {
+      return leftCursor.chars.toString().compareTo(rightCursor.chars.toString());
+    }
+    if (leftCursor.encoded && rightCursor.encoded
+        && leftCursor.chars.toString().equals(rightCursor.chars.toString())) {
+      return 0;
+    }
+    while (true) {
+      final int c = leftCursor.next();
+      final int d = rightCursor.next();
+      if (c != d || c < 0) {
+        return c - d;
+      }
+    }
+  }
+
+  /**
+   * @return true, if the name is a TextFileName of the null text
+   */
+  private static boolean nullText(final FileName name) {
+    return name instanceof TextFileName && ((TextFileName) name).toTextRepresentation() == null;
+  }
+
+  /**
+   * @return the cursor over the text of the name or over the file name, which has no text
+   */
+  private static Cursor cursor(final FileName name) {
+    if (name instanceof StringFileName) {
+      final String fileName = ((StringFileName) name).toStringRepresentation();
+      return decodable(fileName)
+             ? new Cursor(fileName, true)
+             : new Cursor(fileName, false).invalid();
+    }
+    try {
+      return new Cursor(name.toTextRepresentation(), false);
+    } catch (final RecognitionException e) {
+      return new Cursor(name.toSource(), false).invalid();
+    }
+  }
+
+  /**
+   * the characters of the text, which are restored from the file name one by one, as
+   * FileNameDecoder restores them
+   */
+  private static final class Cursor {
+    private final CharSequence chars;
+    private final boolean encoded;
+    private boolean valid = true;
+    private int position;
+    /**
+     * the representation of the token, which is written by the special character, and the
+     * position in it
+     */
+    private String source;
+    private int sourcePosition;
+
+    Cursor(final CharSequence chars, final boolean encoded) {
+      this.chars = chars;
+      this.encoded = encoded;
+    }
+
+    Cursor invalid() {
+      this.valid = false;
+      return this;
+    }
+
+    /**
+     * @return the next character of the text or -1 at the end
+     */
+    int next() {
+      if (this.source != null) {
+        final char c = this.source.charAt(this.sourcePosition++);
+        if (this.sourcePosition == this.source.length()) {
+          this.source = null;
+        }
+        return c;
+      }
+      final int length = this.chars.length();
+      if (this.position == length) {
+        return -1;
+      }
+      final char c = this.chars.charAt(this.position);
+      if (!this.encoded || !DIALECT.special.special(c)) {
+        this.position++;
+        return c;
+      }
+      final boolean escaped = c == DIALECT.escape();
+      final int next = escaped ? this.position + 1 : this.position;
+      final char n = this.chars.charAt(next);
+      if (escaped && n == DIALECT.escape()) {
+        this.position = next + 1;
+        return n;
+      }
+      final int token = DIALECT.trie.starts(n) ? DIALECT.trie.match(this.chars, next) : -1;
+      if (token < 0) {
+        // an unrecognized text swallows the preceding special character
+        this.position = next + 1;
+        return n;
+      }
+      this.position = next + DIALECT.sources[token].length();
+      if (!escaped) {
+        return DIALECT.texts[token];
+      }
+      this.source = DIALECT.sources[token];
+      this.sourcePosition = 1;
+      if (this.source.length() == 1) {
+        this.source = null;
+      }
+      return DIALECT.sources[token].charAt(0);
+    }
+  }
+}
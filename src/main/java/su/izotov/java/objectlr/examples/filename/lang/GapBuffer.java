@@ -0,0 +1,80 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+/**
+ * the characters with the gap at the place of the last change. The changes near the previous
+ * one move only the characters between them
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class GapBuffer
+    implements CharSequence {
+  private char[] chars;
+  private int gapStart;
+  private int gapEnd;
+
+  GapBuffer(final int capacity) {
+    this.chars = new char[Math.max(capacity, 16)];
+    this.gapStart = 0;
+    this.gapEnd = this.chars.length;
+  }
+
+  @Override public int length() {
+    return this.chars.length - this.gapEnd + this.gapStart;
+  }
+
+  @Override public char charAt(final int index) {
+    return index < this.gapStart ? this.chars[index]
+                                 : this.chars[index + this.gapEnd - this.gapStart];
+  }
+
+  @Override public CharSequence subSequence(final int start, final int end) {
+    return new StringBuilder(end - start).append(this, start, end);
+  }
+
+  /**
+   * replace the characters from the beginning inclusive to the end exclusive
+   */
+  void replace(final int from, final int to, final CharSequence replacement) {
+    this.move(to);
+    this.gapStart = from;
+    final int length = replacement.length();
+    if (this.gapEnd - this.gapStart < length) {
+      final int tail = this.chars.length - this.gapEnd;
+      final char[] grown = new char[Math.max(2 * this.chars.length, this.length() + length)];
+      System.arraycopy(this.chars, 0, grown, 0, this.gapStart);
+      System.arraycopy(this.chars, this.gapEnd, grown, grown.length - tail, tail);
+      this.chars = grown;
+      this.gapEnd = grown.length - tail;
+    }
+    for (int i = 0; i < length; i++) {
+      this.chars[this.gapStart + i] = replacement.charAt(i);
+    }
+    this.gapStart += length;
+  }
+
+  @Override public String toString() {
+    return new StringBuilder(this.length())
+        .append(this.chars, 0, this.gapStart)
+        .append(this.chars, this.gapEnd, this.chars.length - this.gapEnd)
+        .toString();
+  }
+
+  /**
+   * move the gap to the position
+   */
+  private void move(final int position) {
+    if (position < this.gapStart) {
+      final int count = this.gapStart - position;
+      System.arraycopy(this.chars, position, this.chars, this.gapEnd - count, count);
+      this.gapStart -= count;
+      this.gapEnd -= count;
+    } else if (position > this.gapStart) {
+      final int count = position - this.gapStart;
+      System.arraycopy(this.chars, this.gapEnd, this.chars, this.gapStart, count);
+      this.gapStart += count;
+      this.gapEnd += count;
+    }
+  }
+}
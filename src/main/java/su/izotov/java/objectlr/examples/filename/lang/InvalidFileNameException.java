@@ -0,0 +1,36 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import su.izotov.java.objectlr.RecognitionException;
+
+/**
+ * the file name, which is not made by the encoder. Invalid names are usual for untrusted
+ * input, thus the exception does not fill the stack trace
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class InvalidFileNameException
+    extends RecognitionException {
+  private static final long serialVersionUID = 1L;
+  private final DecodeResult.Error error;
+  private final int position;
+
+  InvalidFileNameException(final DecodeResult.Error error, final int position) {
+    super(error + " at " + position);
+    this.error = error;
+    this.position = position;
+  }
+
+  public DecodeResult.Error error() {
+    return this.error;
+  }
+
+  public int position() {
+    return this.position;
+  }
+
+  @Override public synchronized Throwable fillInStackTrace() {
+    return this;
+  }
+}
@@ -0,0 +1,182 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.io.IOException;
+
+/**
+ * the encoding of text to file name, which preserves the order: the file names are compared
+ * as the texts, which they represent. It is the alternative of the encoder, which replaces the
+ * characters by the tokens and does not preserve the order.
+ * <p>Every character, which is replaced by the default dialect, makes a group with the
+ * neighbour characters up to the allowed one, which becomes the special character of the
+ * group. All characters of the group are represented by the special character and the digits
+ * of the character in the group, the others are not changed. The control characters, the
+ * space, '!' and '"' make one group of the special character '!' and two digits, as no
+ * allowed character precedes them:</p>
+ * <pre>
+ * 0x00 .. 0x1f      : !00 .. !31
+ * space ! "         : !32 !33 !34
+ * * +               : +0 +1
+ * / 0               : 00 01
+ * : ; &lt; = &gt; ?       : ;0 ;1 ;2 ;3 ;4 ;5
+ * [ \               : [0 [1
+ * | }               : }0 }1
+ * </pre>
+ * <p>The representations are ordered as the characters, each group has the digits of the
+ * same width and none of the representations begins another one, thus the file names are
+ * ordered as the texts both by the characters and by the bytes of UTF-8. The representation
+ * of a prefix of the text is the prefix of the file name, so the prefix and range queries are
+ * made over the file names without restoring the texts.</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class OrderedEncoding {
+  private static final int ALPHABET = 128;
+  /**
+   * the characters of every group in the order of their numbers and its special character
+   */
+  private static final String[] GROUPS = {range('\u0000', '"'), "*+", "/0", ":;<=>?", "[\\", "|}"};
+  private static final char[] SPECIALS = {'!', '+', '0', ';', '[', '}'};
+  /**
+   * the special character of the group of the character or zero
+   */
+  private static final char[] ESCAPES = new char[ALPHABET];
+  /**
+   * the number of the character in its group
+   */
+  private static final int[] NUMBERS = new int[ALPHABET];
+  /**
+   * the characters of the group, indexed by its special character
+   */
+  private static final String[] MEMBERS = new String[ALPHABET];
+  /**
+   * the count of the digits of the numbers of the group, indexed by its special character
+   */
+  private static final int[] WIDTHS = new int[ALPHABET];
+
+  static {
+    for (int i = 0; i < GROUPS.length; i++) {
+      final String group = GROUPS[i];
+      for (int number = 0; number < group.length(); number++) {
+        ESCAPES[group.charAt(number)] = SPECIALS[i];
+        NUMBERS[group.charAt(number)] = number;
+      }
+      MEMBERS[SPECIALS[i]] = group;
+      WIDTHS[SPECIALS[i]] = Integer.toString(group.length() - 1).length();
+    }
+    for (final char c : Dialect.DEFAULT.texts) {
+      if (ESCAPES[c] == 0 || ESCAPES[c] == c) {
+        throw new IllegalStateException("The character is not represented: " + (int) c);
+      }
+    }
+  }
+
+  private OrderedEncoding() {
+  }
+
+  /**
+   * @return the characters from the first to the last one
+   */
+  private static String range(final char first, final char last) {
+    final StringBuilder range = new StringBuilder(last - first + 1);
+    for (char c = first; c <= last; c++) {
+      range.append(c);
+    }
+    return range.toString();
+  }
+
+  /**
+   * convert text to file name, which is ordered as the text. The empty text is converted to
+   * the empty string, which is not a file name, and which decode() does not accept
+   */
+  public static String encode(final CharSequence text) {
+    final int length = text.length();
+    final StringBuilder result = new StringBuilder(length + (length >> 3) + 8);
+    try {
+      encode(text, result);
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return result.toString();
+  }
+
+  /**
+   * convert the text to the file name, which is appended to the destination
+   */
+  public static void encode(final CharSequence text, final Appendable result)
+      throws IOException {
+    final int length = text.length();
+    int plain = 0;
+    for (int i = 0; i < length; i++) {
+      final char c = text.charAt(i);
+      if (c < ALPHABET && ESCAPES[c] != 0) {
+        result.append(text, plain, i).append(ESCAPES[c]);
+        if (WIDTHS[ESCAPES[c]] == 2) {
+          result.append((char) ('0' + NUMBERS[c] / 10));
+        }
+        result.append((char) ('0' + NUMBERS[c] % 10));
+        plain = i + 1;
+      }
+    }
+    result.append(text, plain, length);
+  }
+
+  /**
+   * restore text from the file name
+   * @param fileName the file name, produced by encode()
+   * @return text or null, if the name is not made by encode() or is empty
+   */
+  public static String decode(final String fileName) {
+    return tryDecode(fileName).text();
+  }
+
+  /**
+   * restore the text from the file name, if it is made by encode(). Nothing is thrown
+   * @return the text or the first error
+   */
+  public static DecodeResult tryDecode(final String fileName) {
+    final int length = fileName.length();
+    if (length == 0) {
+      return DecodeResult.failed(DecodeResult.Error.EMPTY, 0);
+    }
+    StringBuilder text = null;
+    int plain = 0;
+    int i = 0;
+    while (i < length) {
+      final char c = fileName.charAt(i);
+      if (c >= ALPHABET || ESCAPES[c] == 0) {
+        i++;
+        continue;
+      }
+      if (MEMBERS[c] == null) {
+        return DecodeResult.failed(DecodeResult.Error.FORBIDDEN_CHARACTER, i);
+      }
+      final int width = WIDTHS[c];
+      if (i + width >= length) {
+        return DecodeResult.failed(DecodeResult.Error.DANGLING_ESCAPE, i);
+      }
+      int number = 0;
+      for (int j = i + 1; j <= i + width; j++) {
+        final int digit = fileName.charAt(j) - '0';
+        if (digit < 0 || digit > 9) {
+          return DecodeResult.failed(DecodeResult.Error.UNEXPECTED_ESCAPE, i);
+        }
+        number = 10 * number + digit;
+      }
+      if (number >= MEMBERS[c].length()) {
+        return DecodeResult.failed(DecodeResult.Error.UNEXPECTED_ESCAPE, i);
+      }
+      if (text == null) {
+        text = new StringBuilder(length);
+      }
+      text.append(fileName, plain, i).append(MEMBERS[c].charAt(number));
+      i += width + 1;
+      plain = i;
+    }
+    if (text == null) {
+      return DecodeResult.decoded(fileName);
+    }
+    return DecodeResult.decoded(text.append(fileName, plain, length).toString());
+  }
+}
@@ -0,0 +1,81 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.io.IOException;
+
+/**
+ * the bitmask of the special characters of a dialect: the characters, which are changed by
+ * the encoder or the decoder. All of them are ASCII, thus two words are enough. A name
+ * without them is the same text and file name
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class SpecialChars {
+  /**
+   * the characters from 0 to 63
+   */
+  private final long low;
+  /**
+   * the characters from 64 to 127
+   */
+  private final long high;
+  private final char[] characters;
+
+  SpecialChars(final char... characters) {
+    long low = 0L;
+    long high = 0L;
+    for (final char c : characters) {
+      if (c < 64) {
+        low |= 1L << c;
+      } else if (c < 128) {
+        high |= 1L << c;
+      } else {
+        throw new IllegalArgumentException("Not ASCII special character " + (int) c);
+      }
+    }
+    this.low = low;
+    this.high = high;
+    this.characters = characters.clone();
+  }
+
+  /**
+   * @return the special characters, they must not be changed
+   */
+  char[] characters() {
+    return this.characters;
+  }
+
+  boolean special(final char c) {
+    // the shift distance of a long is taken modulo 64
+    return c < 128 && ((c < 64 ? this.low : this.high) >>> c & 1L) != 0L;
+  }
+
+  /**
+   * @return the position of the first special character in the part or its end
+   */
+  int scalar(final CharSequence text, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      if (this.special(text.charAt(i))) {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  /**
+   * append the part without special characters. A CharBuffer or another Appendable would
+   * make a copy of the subsequence, thus only StringBuilder takes the part at once
+   */
+  static void copy(
+      final CharSequence text, final int from, final int to, final Appendable result)
+      throws IOException {
+    if (result instanceof StringBuilder) {
+      ((StringBuilder) result).append(text, from, to);
+    } else {
+      for (int i = from; i < to; i++) {
+        result.append(text.charAt(i));
+      }
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+/**
+ * the search of special characters, which lets the encoder and the decoder skip the parts of
+ * names, where nothing is changed. The multi-release jar replaces this class for Java 17 and
+ * later by the one, which uses the vector API
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class SpecialScan {
+  private SpecialScan() {
+  }
+
+  /**
+   * @return the position of the first special character in the part or its end
+   */
+  static int find(
+      final SpecialChars special, final CharSequence text, final int from, final int to) {
+    return special.scalar(text, from, to);
+  }
+}
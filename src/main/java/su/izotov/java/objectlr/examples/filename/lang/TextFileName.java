@@ -1,8 +1,9 @@
 package su.izotov.java.objectlr.examples.filename.lang;
 
 import su.izotov.java.objectlr.RecognitionException;
-import su.izotov.java.objectlr.examples.filename.FileName;
 import su.izotov.java.objectlr.examples.filename.lang.token.FileNameToken;
+import su.izotov.java.objectlr.examples.filename.metrics.FileNameMetrics;
+import su.izotov.java.objectlr.examples.filename.metrics.OperationRecorder;
 
 /**
  * the file name, backed by the arbitrary text, which has no content restrictions!
@@ -14,14 +15,48 @@ import su.izotov.java.objectlr.examples.filename.lang.token.FileNameToken;
 public class TextFileName
     implements FileNameToken, FileNameLang
 {
-  private final String text;
+  /**
+   * the chain of concatenations appends the text to the same accumulator. Every name of the
+   * chain sees its own prefix of the accumulator, which is never changed. The accumulator is
+   * released, when the text is taken, thus the kept names do not hold the whole chain
+   */
+  private volatile StringBuilder accumulator;
+  private final int length;
+  /**
+   * the text, it is taken from the accumulator once on demand
+   */
+  private volatile String text;
 
+  /**
+   * @param text the text of the name, the null text is kept and returned as it is
+   */
   public TextFileName(final String text) {
+    this.accumulator = null;
+    this.length = text == null ? 0 : text.length();
     this.text = text;
   }
 
+  private TextFileName(final StringBuilder accumulator) {
+    this.accumulator = accumulator;
+    this.length = accumulator.length();
+    this.text = null;
+  }
+
   @Override public String toTextRepresentation() {
-    return text;
+    String result = this.text;
+    if (result == null) {
+      final StringBuilder accumulator = this.accumulator;
+      if (accumulator == null) {
+        // the text is set before the accumulator is released
+        return this.text;
+      }
+      synchronized (accumulator) {
+        result = accumulator.substring(0, this.length);
+      }
+      this.text = result;
+      this.accumulator = null;
+    }
+    return result;
   }
 
   /**
@@ -43,39 +78,84 @@ public class TextFileName
     //
     // our special character will be undercsore - '_'
     //
-    // marking tokens, explicitly entered by user
-    String str = text;
-    // firstly, mark special character itself
-    str = str.replace("_", "__");
-    // restricted character representation must be marked too
-    str = str.replace("(STAR)", "_(STAR)");
-    str = str.replace("(PIPE)", "_(PIPE)");
-    str = str.replace("(BSLASH)", "_(BSLASH)");
-    str = str.replace("(COLON)", "_(COLON)");
-    str = str.replace("(QUOT)", "_(QUOT)");
-    str = str.replace("(LANGLE)", "_(LANGLE)");
-    str = str.replace("(RANGLE)", "_(RANGLE)");
-    str = str.replace("(QUESTION)", "_(QUESTION)");
-    str = str.replace("(SLASH)", "_(SLASH)");
-    // replacing restricted symbols by tokens
-    str = str.replace("*", "(STAR)");
-    str = str.replace("|", "(PIPE)");
-    str = str.replace("\\", "(BSLASH)");
-    str = str.replace(":", "(COLON)");
-    str = str.replace("\"", "(QUOT)");
-    str = str.replace("<", "(LANGLE)");
-    str = str.replace(">", "(RANGLE)");
-    str = str.replace("?", "(QUESTION)");
-    str = str.replace("/", "(SLASH)");
-    str = str.replace("\n", "\\");
-    return str;
+    // marking tokens, explicitly entered by user, and replacing restricted symbols by
+    // tokens are made in one pass
+    final OperationRecorder metrics = FileNameMetrics.encoding();
+    if (metrics == null) {
+      return FileNameEncoder.encode(this.toTextRepresentation());
+    }
+    final long start = System.nanoTime();
+    final String text = this.toTextRepresentation();
+    final String result = FileNameEncoder.encode(text);
+    final long elapsed = System.nanoTime() - start;
+    metrics.succeeded(
+        text.length(), result.length(), FileNameDecoder.tokens(result), elapsed);
+    return result;
+  }
+
+  /**
+   * the file name, which is ordered as the text, unlike the string representation
+   * @see OrderedEncoding
+   */
+  public String toOrderedRepresentation() {
+    return OrderedEncoding.encode(this.toTextRepresentation());
   }
 
   public TextFileName concat(TextFileName textFileName) {
-    return new TextFileName(this.text + textFileName.text);
+    return this.append(textFileName.toTextRepresentation());
+  }
+
+  /**
+   * a token after the text extends the same accumulator
+   */
+  @Override public TextFileName concat(FileNameToken token)
+      throws RecognitionException {
+    return this.append(token.toTextRepresentation());
   }
 
   @Override public String toSource() {
-    return this.text;
+    return this.toTextRepresentation();
+  }
+
+  /**
+   * the name is equal to the TextFileName or StringFileName of the same text
+   */
+  @Override public boolean equals(final Object other) {
+    return FileNameValues.equal(this, other);
+  }
+
+  /**
+   * the hash of the text, it is cached by the text. The null text has the zero hash
+   */
+  @Override public int hashCode() {
+    final String text = this.toTextRepresentation();
+    return text == null ? 0 : text.hashCode();
+  }
+
+  /**
+   * the text, as the senses of the language library show it. The hash is not needed for it
+   */
+  @Override public String toString() {
+    return this.toTextRepresentation();
+  }
+
+  /**
+   * append is amortized O(1) when this name is the last one in its chain. Otherwise the
+   * accumulator already contains other text after our prefix or it is released with the text
+   * of this name, and the new chain begins
+   */
+  private TextFileName append(final String tail) {
+    final StringBuilder current = this.accumulator;
+    if (current != null) {
+      synchronized (current) {
+        if (current.length() == this.length) {
+          current.append(tail);
+          return new TextFileName(current);
+        }
+      }
+    }
+    final StringBuilder fresh = new StringBuilder(2 * (this.length + tail.length()) + 16);
+    fresh.append(this.toTextRepresentation()).append(tail);
+    return new TextFileName(fresh);
   }
 }
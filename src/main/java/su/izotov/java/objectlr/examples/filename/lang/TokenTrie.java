@@ -0,0 +1,115 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.util.Arrays;
+
+/**
+ * prebuilt trie over token representations. It finds the token, which begins at the
+ * position of the text, in one pass without trying each token in turn
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class TokenTrie {
+  /**
+   * token representations consist of ASCII characters
+   */
+  private static final int ALPHABET = 128;
+  /**
+   * transitions of the node are at node * ALPHABET + character. Zero means no transition,
+   * because the root can not be a target
+   */
+  private final int[] transitions;
+  /**
+   * the index of the token, which ends at the node, or -1
+   */
+  private final int[] accepted;
+  /**
+   * the length of the longest token representation
+   */
+  private final int longest;
+
+  /**
+   * @param sources token representations, their indexes are the results of the matching
+   */
+  TokenTrie(final String... sources) {
+    int nodes = 1;
+    int max = 0;
+    for (final String source : sources) {
+      nodes += source.length();
+      max = Math.max(max, source.length());
+    }
+    final int[] table = new int[nodes * ALPHABET];
+    final int[] ends = new int[nodes];
+    Arrays.fill(ends, -1);
+    int count = 1;
+    for (int token = 0; token < sources.length; token++) {
+      final String source = sources[token];
+      if (source.isEmpty()) {
+        throw new IllegalArgumentException("empty token representation");
+      }
+      int node = 0;
+      for (int i = 0; i < source.length(); i++) {
+        final char c = source.charAt(i);
+        if (c >= ALPHABET) {
+          throw new IllegalArgumentException(
+              "token representation must be ASCII: " + source);
+        }
+        if (table[node * ALPHABET + c] == 0) {
+          table[node * ALPHABET + c] = count;
+          count++;
+        }
+        node = table[node * ALPHABET + c];
+      }
+      ends[node] = token;
+    }
+    this.transitions = table;
+    this.accepted = ends;
+    this.longest = max;
+  }
+
+  /**
+   * @return the length of the longest token representation. The token, which begins at the
+   * position, can be matched reliably, if so many characters are available after it
+   */
+  int longest() {
+    return this.longest;
+  }
+
+  /**
+   * @return true, if some token begins with the character
+   */
+  boolean starts(final char c) {
+    return c < ALPHABET && this.transitions[c] != 0;
+  }
+
+  /**
+   * @return index of the longest token, which begins at the position of the text, or -1
+   */
+  int match(final CharSequence text, final int position) {
+    return this.match(text, position, text.length());
+  }
+
+  /**
+   * @return index of the longest token, which begins at the position and ends before the
+   * limit, or -1
+   */
+  int match(final CharSequence text, final int position, final int limit) {
+    int node = 0;
+    int result = -1;
+    for (int i = position; i < limit; i++) {
+      final char c = text.charAt(i);
+      if (c >= ALPHABET) {
+        break;
+      }
+      node = this.transitions[node * ALPHABET + c];
+      if (node == 0) {
+        break;
+      }
+      if (this.accepted[node] >= 0) {
+        result = this.accepted[node];
+      }
+    }
+    return result;
+  }
+}
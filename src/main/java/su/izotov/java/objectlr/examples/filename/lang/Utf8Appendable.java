@@ -0,0 +1,92 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.nio.ByteBuffer;
+
+/**
+ * writes appended characters into the byte buffer in UTF-8. Unpaired surrogates are
+ * written as '?', as String.getBytes() does it. One instance per thread is reused, thus
+ * nothing is allocated per conversion
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class Utf8Appendable
+    implements Appendable {
+  private static final ThreadLocal<Utf8Appendable> INSTANCES =
+      ThreadLocal.withInitial(Utf8Appendable::new);
+  private static final byte REPLACEMENT = (byte) '?';
+  private ByteBuffer target;
+  /**
+   * the high surrogate, which waits for the low one, or zero
+   */
+  private char high;
+
+  private Utf8Appendable() {
+  }
+
+  /**
+   * @return the appendable of this thread, which writes into the buffer
+   */
+  static Utf8Appendable into(final ByteBuffer target) {
+    final Utf8Appendable appendable = INSTANCES.get();
+    appendable.target = target;
+    appendable.high = 0;
+    return appendable;
+  }
+
+  /**
+   * writes the unpaired high surrogate, if it is the last character, and releases the buffer
+   */
+  void finish() {
+    if (this.high != 0) {
+      this.target.put(REPLACEMENT);
+      this.high = 0;
+    }
+    this.target = null;
+  }
+
+  @Override public Utf8Appendable append(final CharSequence csq) {
+    return this.append(csq, 0, csq.length());
+  }
+
+  @Override public Utf8Appendable append(
+      final CharSequence csq, final int start, final int end) {
+    for (int i = start; i < end; i++) {
+      this.append(csq.charAt(i));
+    }
+    return this;
+  }
+
+  @Override public Utf8Appendable append(final char c) {
+    final ByteBuffer out = this.target;
+    if (this.high != 0) {
+      final char previous = this.high;
+      this.high = 0;
+      if (Character.isLowSurrogate(c)) {
+        final int code = Character.toCodePoint(previous, c);
+        out.put((byte) (0xF0 | code >> 18));
+        out.put((byte) (0x80 | code >> 12 & 0x3F));
+        out.put((byte) (0x80 | code >> 6 & 0x3F));
+        out.put((byte) (0x80 | code & 0x3F));
+        return this;
+      }
+      out.put(REPLACEMENT);
+    }
+    if (c < 0x80) {
+      out.put((byte) c);
+    } else if (c < 0x800) {
+      out.put((byte) (0xC0 | c >> 6));
+      out.put((byte) (0x80 | c & 0x3F));
+    } else if (Character.isHighSurrogate(c)) {
+      this.high = c;
+    } else if (Character.isLowSurrogate(c)) {
+      out.put(REPLACEMENT);
+    } else {
+      out.put((byte) (0xE0 | c >> 12));
+      out.put((byte) (0x80 | c >> 6 & 0x3F));
+      out.put((byte) (0x80 | c & 0x3F));
+    }
+    return this;
+  }
+}
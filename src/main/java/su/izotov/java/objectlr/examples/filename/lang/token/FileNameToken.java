@@ -19,10 +19,11 @@ public interface FileNameToken
   }
 
   /**
-   * creating text representation of the filename.
+   * creating text representation of the filename. The following senses are appended to the
+   * same accumulator of the TextFileName
    */
   default FileName concat(FileNameToken token)
       throws RecognitionException {
-    return new TextFileName(this.toTextRepresentation() + token.toTextRepresentation());
+    return new TextFileName(this.toTextRepresentation()).concat(token);
   }
 }
@@ -0,0 +1,101 @@
+package su.izotov.java.objectlr.examples.filename.metrics;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * optional instrumentation of the conversions between texts and file names. It is turned off
+ * by default, and then every conversion pays only for one volatile read. The counters are
+ * available as snapshots and through JMX
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class FileNameMetrics {
+  /**
+   * the name of the MBean in the platform MBean server
+   */
+  public static final String OBJECT_NAME =
+      "su.izotov.java.objectlr.examples.filename:type=FileNameMetrics";
+  /**
+   * turns the instrumentation on at startup, if it is "true"
+   */
+  public static final String PROPERTY = "filename.metrics";
+  private static volatile OperationRecorder encoding;
+  private static volatile OperationRecorder decoding;
+  private static volatile boolean enabled;
+
+  static {
+    reset();
+    if (Boolean.getBoolean(PROPERTY)) {
+      enable();
+    }
+  }
+
+  private FileNameMetrics() {
+  }
+
+  /**
+   * @return the recorder of the conversions from texts to file names or null, if the
+   * instrumentation is turned off
+   */
+  public static OperationRecorder encoding() {
+    return enabled ? encoding : null;
+  }
+
+  /**
+   * @return the recorder of the conversions from file names to texts or null, if the
+   * instrumentation is turned off
+   */
+  public static OperationRecorder decoding() {
+    return enabled ? decoding : null;
+  }
+
+  public static void enable() {
+    enabled = true;
+  }
+
+  public static void disable() {
+    enabled = false;
+  }
+
+  public static boolean enabled() {
+    return enabled;
+  }
+
+  /**
+   * start counting from zero. Conversions, which are recorded at the same moment, may be lost
+   */
+  public static void reset() {
+    encoding = new OperationRecorder();
+    decoding = new OperationRecorder();
+  }
+
+  public static OperationStatistics encodingStatistics() {
+    return encoding.statistics();
+  }
+
+  public static OperationStatistics decodingStatistics() {
+    return decoding.statistics();
+  }
+
+  /**
+   * register the MBean in the platform MBean server, if it is not registered yet
+   */
+  public static void register() {
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      final ObjectName name = new ObjectName(OBJECT_NAME);
+      synchronized (FileNameMetrics.class) {
+        if (!server.isRegistered(name)) {
+          server.registerMBean(new FileNameMetricsBean(), name);
+        }
+      }
+    } catch (final JMException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
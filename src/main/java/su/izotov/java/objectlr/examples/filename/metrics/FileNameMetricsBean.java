@@ -0,0 +1,79 @@
+package su.izotov.java.objectlr.examples.filename.metrics;
+
+/**
+ * the MBean, which reads the current counters of FileNameMetrics
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class FileNameMetricsBean
+    implements FileNameMetricsMXBean {
+  @Override public boolean isEnabled() {
+    return FileNameMetrics.enabled();
+  }
+
+  @Override public void setEnabled(final boolean enabled) {
+    if (enabled) {
+      FileNameMetrics.enable();
+    } else {
+      FileNameMetrics.disable();
+    }
+  }
+
+  @Override public void reset() {
+    FileNameMetrics.reset();
+  }
+
+  @Override public long getEncodeOperations() {
+    return FileNameMetrics.encodingStatistics().operations();
+  }
+
+  @Override public long getEncodeCharactersIn() {
+    return FileNameMetrics.encodingStatistics().charactersIn();
+  }
+
+  @Override public long getEncodeCharactersOut() {
+    return FileNameMetrics.encodingStatistics().charactersOut();
+  }
+
+  @Override public double getEncodeTokensPerName() {
+    return FileNameMetrics.encodingStatistics().tokensPerName();
+  }
+
+  @Override public long getEncodeP50Nanos() {
+    return FileNameMetrics.encodingStatistics().p50Nanos();
+  }
+
+  @Override public long getEncodeP99Nanos() {
+    return FileNameMetrics.encodingStatistics().p99Nanos();
+  }
+
+  @Override public long getDecodeOperations() {
+    return FileNameMetrics.decodingStatistics().operations();
+  }
+
+  @Override public long getDecodeFailures() {
+    return FileNameMetrics.decodingStatistics().failures();
+  }
+
+  @Override public long getDecodeCharactersIn() {
+    return FileNameMetrics.decodingStatistics().charactersIn();
+  }
+
+  @Override public long getDecodeCharactersOut() {
+    return FileNameMetrics.decodingStatistics().charactersOut();
+  }
+
+  @Override public double getDecodeTokensPerName() {
+    return FileNameMetrics.decodingStatistics().tokensPerName();
+  }
+
+  @Override public long getDecodeP50Nanos() {
+    return FileNameMetrics.decodingStatistics().p50Nanos();
+  }
+
+  @Override public long getDecodeP99Nanos() {
+    return FileNameMetrics.decodingStatistics().p99Nanos();
+  }
+}
@@ -0,0 +1,42 @@
+package su.izotov.java.objectlr.examples.filename.metrics;
+
+/**
+ * the management interface of FileNameMetrics
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public interface FileNameMetricsMXBean {
+  boolean isEnabled();
+
+  void setEnabled(boolean enabled);
+
+  void reset();
+
+  long getEncodeOperations();
+
+  long getEncodeCharactersIn();
+
+  long getEncodeCharactersOut();
+
+  double getEncodeTokensPerName();
+
+  long getEncodeP50Nanos();
+
+  long getEncodeP99Nanos();
+
+  long getDecodeOperations();
+
+  long getDecodeFailures();
+
+  long getDecodeCharactersIn();
+
+  long getDecodeCharactersOut();
+
+  double getDecodeTokensPerName();
+
+  long getDecodeP50Nanos();
+
+  long getDecodeP99Nanos();
+}
@@ -0,0 +1,65 @@
+package su.izotov.java.objectlr.examples.filename.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * lock-free histogram of latencies in nanoseconds. Every power of two is divided into eight
+ * buckets, thus the relative error of percentiles is below 12.5%
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class LatencyHistogram {
+  private static final int SUB_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+  void record(final long nanos) {
+    this.counts.incrementAndGet(index(nanos));
+  }
+
+  /**
+   * @param fraction from 0.0 to 1.0, for example 0.99
+   * @return the upper bound of the bucket, where the percentile is, or 0 without records
+   */
+  long percentile(final double fraction) {
+    final int length = this.counts.length();
+    final long[] snapshot = new long[length];
+    long total = 0L;
+    for (int i = 0; i < length; i++) {
+      snapshot[i] = this.counts.get(i);
+      total += snapshot[i];
+    }
+    if (total == 0L) {
+      return 0L;
+    }
+    final long rank = Math.max(1L, (long) Math.ceil(fraction * total));
+    long seen = 0L;
+    for (int i = 0; i < length; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return upper(i);
+      }
+    }
+    return upper(length - 1);
+  }
+
+  static int index(final long nanos) {
+    if (nanos < SUB_BUCKETS) {
+      return (int) Math.max(nanos, 0L);
+    }
+    final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+    final int sub = (int) (nanos >>> exponent - SUB_BITS) & SUB_BUCKETS - 1;
+    return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+  }
+
+  static long upper(final int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final int exponent = index / SUB_BUCKETS + SUB_BITS - 1;
+    final long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << exponent - SUB_BITS;
+    return lower + (1L << exponent - SUB_BITS) - 1L;
+  }
+}
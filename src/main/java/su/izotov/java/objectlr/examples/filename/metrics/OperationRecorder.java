@@ -0,0 +1,54 @@
+package su.izotov.java.objectlr.examples.filename.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * collects the counters of one kind of conversions
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class OperationRecorder {
+  private final LongAdder operations = new LongAdder();
+  private final LongAdder failures = new LongAdder();
+  private final LongAdder charactersIn = new LongAdder();
+  private final LongAdder charactersOut = new LongAdder();
+  private final LongAdder tokens = new LongAdder();
+  private final LatencyHistogram latencies = new LatencyHistogram();
+
+  OperationRecorder() {
+  }
+
+  /**
+   * @param in the length of the converted string
+   * @param out the length of the result
+   * @param tokenCount the count of tokens in the file name
+   * @param nanos the duration of the conversion
+   */
+  public void succeeded(final int in, final int out, final int tokenCount, final long nanos) {
+    this.operations.increment();
+    this.charactersIn.add(in);
+    this.charactersOut.add(out);
+    this.tokens.add(tokenCount);
+    this.latencies.record(nanos);
+  }
+
+  /**
+   * @param in the length of the string, which has not been converted
+   * @param nanos the duration of the failed conversion
+   */
+  public void failed(final int in, final long nanos) {
+    this.operations.increment();
+    this.failures.increment();
+    this.charactersIn.add(in);
+    this.latencies.record(nanos);
+  }
+
+  OperationStatistics statistics() {
+    return new OperationStatistics(
+        this.operations.sum(), this.failures.sum(), this.charactersIn.sum(),
+        this.charactersOut.sum(), this.tokens.sum(), this.latencies.percentile(0.5),
+        this.latencies.percentile(0.99));
+  }
+}
@@ -0,0 +1,76 @@
+package su.izotov.java.objectlr.examples.filename.metrics;
+
+/**
+ * the snapshot of the counters of one kind of conversions
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class OperationStatistics {
+  private final long operations;
+  private final long failures;
+  private final long charactersIn;
+  private final long charactersOut;
+  private final long tokens;
+  private final long p50;
+  private final long p99;
+
+  OperationStatistics(
+      final long operations, final long failures, final long charactersIn,
+      final long charactersOut, final long tokens, final long p50, final long p99) {
+    this.operations = operations;
+    this.failures = failures;
+    this.charactersIn = charactersIn;
+    this.charactersOut = charactersOut;
+    this.tokens = tokens;
+    this.p50 = p50;
+    this.p99 = p99;
+  }
+
+  /**
+   * @return the count of conversions, including failed ones
+   */
+  public long operations() {
+    return this.operations;
+  }
+
+  public long failures() {
+    return this.failures;
+  }
+
+  public long charactersIn() {
+    return this.charactersIn;
+  }
+
+  public long charactersOut() {
+    return this.charactersOut;
+  }
+
+  /**
+   * @return the count of tokens in all converted file names
+   */
+  public long tokens() {
+    return this.tokens;
+  }
+
+  public double tokensPerName() {
+    final long succeeded = this.operations - this.failures;
+    return succeeded == 0L ? 0.0 : (double) this.tokens / succeeded;
+  }
+
+  public long p50Nanos() {
+    return this.p50;
+  }
+
+  public long p99Nanos() {
+    return this.p99;
+  }
+
+  @Override public String toString() {
+    return String.format(
+        "operations=%d failures=%d in=%d out=%d tokens/name=%.2f p50=%dns p99=%dns",
+        this.operations, this.failures, this.charactersIn, this.charactersOut,
+        this.tokensPerName(), this.p50, this.p99);
+  }
+}
@@ -0,0 +1,200 @@
+package su.izotov.java.objectlr.examples.filename.path;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import su.izotov.java.objectlr.RecognitionException;
+
+/**
+ * the directory stream of entries with encoded names. The listing is not materialized: the
+ * entries are taken from the underlying stream one by one, and their texts are restored
+ * only when they are read, or when the filter needs them.
+ * <p>In the parallel mode, the texts of the entries, which are listed ahead of the reader,
+ * are restored by the executor. The count of entries ahead is bounded by the window.</p>
+ * <p>The entries, which can not be restored, do not match any filter.</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class DecodingDirectoryStream
+    implements DirectoryStream<DirectoryEntry> {
+  private static final int DEFAULT_WINDOW = 1024;
+  private final DirectoryStream<Path> listing;
+  private final Predicate<String> filter;
+  private final Executor executor;
+  private final int window;
+  private boolean iterated;
+
+  private DecodingDirectoryStream(
+      final DirectoryStream<Path> listing, final Predicate<String> filter,
+      final Executor executor, final int window) {
+    this.listing = listing;
+    this.filter = filter;
+    this.executor = executor;
+    this.window = window;
+  }
+
+  /**
+   * @return all entries of the directory
+   */
+  public static DecodingDirectoryStream open(final Path directory)
+      throws IOException {
+    return new DecodingDirectoryStream(Files.newDirectoryStream(directory), null, null, 0);
+  }
+
+  /**
+   * @param glob the pattern of the restored texts, see TextGlob
+   */
+  public static DecodingDirectoryStream open(final Path directory, final String glob)
+      throws IOException {
+    return open(directory, new TextGlob(glob));
+  }
+
+  /**
+   * @param filter the condition on the restored texts
+   */
+  public static DecodingDirectoryStream open(
+      final Path directory, final Predicate<String> filter)
+      throws IOException {
+    return new DecodingDirectoryStream(
+        Files.newDirectoryStream(directory), filter, null, 0);
+  }
+
+  /**
+   * @param executor restores texts of the entries ahead of the reader
+   * @return the stream of the same listing in the parallel mode
+   */
+  public DecodingDirectoryStream parallel(final Executor executor) {
+    return this.parallel(executor, DEFAULT_WINDOW);
+  }
+
+  /**
+   * @param window the count of entries, which are listed ahead of the reader
+   */
+  public DecodingDirectoryStream parallel(final Executor executor, final int window) {
+    if (window < 1) {
+      throw new IllegalArgumentException("the window must be positive: " + window);
+    }
+    return new DecodingDirectoryStream(this.listing, this.filter, executor, window);
+  }
+
+  @Override public Iterator<DirectoryEntry> iterator() {
+    synchronized (this) {
+      if (this.iterated) {
+        throw new IllegalStateException("Iterator already obtained");
+      }
+      this.iterated = true;
+    }
+    return new Entries(this.listing.iterator());
+  }
+
+  /**
+   * @return sequential stream of the entries, it must be closed with the directory stream
+   */
+  public Stream<DirectoryEntry> stream() {
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(
+            this.iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+        .onClose(() -> {
+          try {
+            this.close();
+          } catch (final IOException e) {
+            throw new IllegalStateException(e);
+          }
+        });
+  }
+
+  @Override public void close()
+      throws IOException {
+    this.listing.close();
+  }
+
+  /**
+   * without the filter the text is not restored
+   */
+  private boolean accepted(final DirectoryEntry entry) {
+    if (this.filter == null) {
+      return true;
+    }
+    try {
+      return this.filter.test(entry.toTextRepresentation());
+    } catch (final RecognitionException e) {
+      return false;
+    }
+  }
+
+  /**
+   * the result is kept by the entry, the failure is reported, when the text is read
+   */
+  private static void restore(final DirectoryEntry entry) {
+    try {
+      entry.toTextRepresentation();
+    } catch (final RecognitionException ignored) {
+      // the reader gets it again
+    }
+  }
+
+  /**
+   * takes entries from the listing, in the parallel mode it keeps the window of entries
+   * ahead, which are being restored
+   */
+  private final class Entries
+      implements Iterator<DirectoryEntry> {
+    private final Iterator<Path> paths;
+    private final Queue<DirectoryEntry> ahead = new ArrayDeque<>();
+    private DirectoryEntry next;
+
+    Entries(final Iterator<Path> paths) {
+      this.paths = paths;
+    }
+
+    @Override public boolean hasNext() {
+      while (this.next == null) {
+        final DirectoryEntry entry = this.take();
+        if (entry == null) {
+          return false;
+        }
+        if (DecodingDirectoryStream.this.accepted(entry)) {
+          this.next = entry;
+        }
+      }
+      return true;
+    }
+
+    @Override public DirectoryEntry next() {
+      if (!this.hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final DirectoryEntry entry = this.next;
+      this.next = null;
+      return entry;
+    }
+
+    private DirectoryEntry take() {
+      final Executor executor = DecodingDirectoryStream.this.executor;
+      if (executor == null) {
+        return this.paths.hasNext() ? new DirectoryEntry(this.paths.next()) : null;
+      }
+      final int window = DecodingDirectoryStream.this.window;
+      while (this.ahead.size() < window && this.paths.hasNext()) {
+        final DirectoryEntry entry = new DirectoryEntry(this.paths.next());
+        // the reader waits for the text, if it is being restored
+        executor.execute(() -> restore(entry));
+        this.ahead.add(entry);
+      }
+      return this.ahead.poll();
+    }
+  }
+}
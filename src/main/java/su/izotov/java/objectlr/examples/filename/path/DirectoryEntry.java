@@ -0,0 +1,28 @@
+package su.izotov.java.objectlr.examples.filename.path;
+
+import java.nio.file.Path;
+import su.izotov.java.objectlr.examples.filename.StringFileName;
+
+/**
+ * the file name of the directory entry. The text is restored on demand and only once
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class DirectoryEntry
+    extends StringFileName {
+  private final Path path;
+
+  DirectoryEntry(final Path path) {
+    super(path.getFileName().toString());
+    this.path = path;
+  }
+
+  /**
+   * @return the path of the entry, as it is listed by the directory stream
+   */
+  public Path path() {
+    return this.path;
+  }
+}
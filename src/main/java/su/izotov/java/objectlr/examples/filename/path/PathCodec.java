@@ -0,0 +1,105 @@
+package su.izotov.java.objectlr.examples.filename.path;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.cache.FileNameCache;
+
+/**
+ * converts the list of arbitrary texts into the path, where every text is encoded to the
+ * file name, and back. The segments are interned in the cache, thus the common parent
+ * folders of many files are encoded once.
+ * <p>The names "." and ".." have the special meaning in the path, therefore they are
+ * marked by the special character, as the reserved names. The language understands "_.." as
+ * "..", as any text after the single special character, and the validation of the decoder
+ * accepts them.</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class PathCodec {
+  private static final long DEFAULT_SEGMENTS = 1L << 16;
+  private final FileSystem fileSystem;
+  private final FileNameCache segments;
+
+  /**
+   * the codec of the default file system
+   */
+  public PathCodec() {
+    this(FileSystems.getDefault(), FileNameCache.withMaxEntries(DEFAULT_SEGMENTS));
+  }
+
+  /**
+   * @param segments the intern table of segments, it may be shared with other codecs
+   */
+  public PathCodec(final FileSystem fileSystem, final FileNameCache segments) {
+    this.fileSystem = fileSystem;
+    this.segments = segments;
+  }
+
+  /**
+   * @param texts not empty list of not empty texts
+   * @return the relative path
+   * @throws IllegalArgumentException if an encoded text contains the separator of the file
+   * system, as the new line, which is encoded to the back slash
+   */
+  public Path encode(final List<String> texts) {
+    if (texts.isEmpty()) {
+      throw new IllegalArgumentException("the path must have at least one segment");
+    }
+    final String first = this.segment(texts.get(0));
+    final String[] more = new String[texts.size() - 1];
+    for (int i = 0; i < more.length; i++) {
+      more[i] = this.segment(texts.get(i + 1));
+    }
+    return this.fileSystem.getPath(first, more);
+  }
+
+  /**
+   * @return the path, resolved against the base
+   */
+  public Path encode(final Path base, final List<String> texts) {
+    return base.resolve(this.encode(texts));
+  }
+
+  /**
+   * @return texts of all name elements of the path, the root is omitted
+   */
+  public List<String> decode(final Path path)
+      throws RecognitionException {
+    final int count = path.getNameCount();
+    final List<String> texts = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      texts.add(this.segments.decode(path.getName(i).toString()));
+    }
+    return texts;
+  }
+
+  /**
+   * @return texts of the name elements of the path, which is relative to the base
+   */
+  public List<String> decode(final Path base, final Path path)
+      throws RecognitionException {
+    return this.decode(base.relativize(path));
+  }
+
+  private String segment(final String text) {
+    if (text.isEmpty()) {
+      throw new IllegalArgumentException("the segment of the path must not be empty");
+    }
+    if (".".equals(text) || "..".equals(text)) {
+      return "_" + text;
+    }
+    final String segment = this.segments.encode(text);
+    if (segment.contains(this.fileSystem.getSeparator())) {
+      // the back slash of the new line on Windows
+      throw new IllegalArgumentException(
+          "the segment of the path contains the separator of the file system: " + segment);
+    }
+    return segment;
+  }
+}
@@ -0,0 +1,96 @@
+package su.izotov.java.objectlr.examples.filename.path;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * glob pattern over the restored text. It supports '*', '?', '[...]', '[!...]', '{a,b}' and
+ * '\' for escaping. As the text has no separators, '*' matches any characters
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class TextGlob
+    implements Predicate<String> {
+  private final Pattern pattern;
+
+  TextGlob(final String glob) {
+    this.pattern = Pattern.compile(regex(glob), Pattern.DOTALL);
+  }
+
+  @Override public boolean test(final String text) {
+    return this.pattern.matcher(text).matches();
+  }
+
+  private static String regex(final String glob) {
+    final StringBuilder regex = new StringBuilder(glob.length() * 2);
+    boolean group = false;
+    boolean range = false;
+    for (int i = 0; i < glob.length(); i++) {
+      final char c = glob.charAt(i);
+      if (range) {
+        if (c == ']') {
+          range = false;
+          regex.append(']');
+        } else if (c == '\\' || c == '[' || c == '&' || c == '^') {
+          regex.append('\\').append(c);
+        } else {
+          regex.append(c);
+        }
+        continue;
+      }
+      switch (c) {
+        case '*':
+          regex.append(".*");
+          break;
+        case '?':
+          regex.append('.');
+          break;
+        case '[':
+          range = true;
+          regex.append('[');
+          if (i + 1 < glob.length() && glob.charAt(i + 1) == '!') {
+            regex.append('^');
+            i++;
+          }
+          break;
+        case '{':
+          if (group) {
+            throw new IllegalArgumentException("nested groups are not supported: " + glob);
+          }
+          group = true;
+          regex.append("(?:");
+          break;
+        case '}':
+          if (group) {
+            group = false;
+            regex.append(')');
+          } else {
+            regex.append("\\}");
+          }
+          break;
+        case ',':
+          regex.append(group ? "|" : ",");
+          break;
+        case '\\':
+          if (i + 1 < glob.length()) {
+            i++;
+            regex.append(Pattern.quote(String.valueOf(glob.charAt(i))));
+          } else {
+            regex.append("\\\\");
+          }
+          break;
+        default:
+          if ("().+^$|".indexOf(c) >= 0) {
+            regex.append('\\');
+          }
+          regex.append(c);
+      }
+    }
+    if (group || range) {
+      throw new IllegalArgumentException("unclosed group or range: " + glob);
+    }
+    return regex.toString();
+  }
+}
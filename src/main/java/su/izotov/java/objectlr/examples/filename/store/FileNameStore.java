@@ -0,0 +1,344 @@
+package su.izotov.java.objectlr.examples.filename.store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.FileName;
+import su.izotov.java.objectlr.examples.filename.lang.Dialect;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameDecoder;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameEncoder;
+import su.izotov.java.objectlr.examples.filename.lang.InvalidFileNameException;
+
+/**
+ * the compact store of many file names. Only the file name is kept, the text is restored from
+ * it on demand. The names are packed one after another into large byte arrays, a character
+ * takes one byte, if all characters of the name are Latin-1, and two bytes otherwise. A name
+ * is identified by the int handle, which is its position in the arrays, and the same name is
+ * kept once: adding it again returns the same handle. Thus a name costs its characters and
+ * a dozen of bytes of the header and the table of handles instead of the objects of
+ * TextFileName or StringFileName and their strings.
+ * <p>The names are added under the lock, the handles may be read by any thread, which has
+ * received them. A handle, which is not returned by the store, is undefined: it is rejected,
+ * if it is not in the written names, otherwise any name may be read by it or any runtime
+ * exception may be thrown</p>
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+public final class FileNameStore {
+  /**
+   * the low bits of the handle are the position in the arena, the high ones are the index of
+   * the arena. A name, which is longer than the arena, takes its own arena
+   */
+  private static final int OFFSET_BITS = 20;
+  private static final int ARENA = 1 << OFFSET_BITS;
+  private static final int MAX_ARENAS = 1 << 31 - OFFSET_BITS;
+  private static final int NO_HANDLE = -1;
+  private final Dialect dialect;
+  private volatile byte[][] arenas = new byte[4][];
+  private int count;
+  /**
+   * the free position of the last arena. It is reset after the end of the previous arena is
+   * kept, thus the reader, which sees the reset position, sees the end
+   */
+  private volatile int position = ARENA;
+  /**
+   * the ends of the names of the arenas, zero for the last one, which ends at the position
+   */
+  private volatile int[] ends = new int[4];
+  /**
+   * the open addressing table of the handles of the names. The hashes are not kept, they are
+   * computed from the names, when the table grows
+   */
+  private int[] handles = filled(16);
+  private int size;
+  private long used;
+
+  public FileNameStore() {
+    this(Dialect.DEFAULT);
+  }
+
+  /**
+   * @param dialect the rules of the stored file names
+   */
+  public FileNameStore(final Dialect dialect) {
+    this.dialect = dialect;
+  }
+
+  private static int[] filled(final int length) {
+    final int[] result = new int[length];
+    Arrays.fill(result, NO_HANDLE);
+    return result;
+  }
+
+  /**
+   * add the file name of the text
+   * @return the handle of the file name
+   */
+  public int addText(final String text) {
+    return this.addFileName(FileNameEncoder.encode(this.dialect, text));
+  }
+
+  /**
+   * @param fileName the file name, made by the encoder of the dialect
+   * @return the handle of the file name, the same for the equal names
+   */
+  public synchronized int addFileName(final String fileName) {
+    final int slot = this.slot(fileName);
+    if (this.handles[slot] != NO_HANDLE) {
+      return this.handles[slot];
+    }
+    final int handle = this.append(fileName);
+    this.handles[slot] = handle;
+    this.size++;
+    if (4 * this.size > 3 * this.handles.length) {
+      this.grow();
+    }
+    return handle;
+  }
+
+  /**
+   * @return the handle of the stored file name or -1
+   */
+  public synchronized int find(final String fileName) {
+    return this.handles[this.slot(fileName)];
+  }
+
+  /**
+   * @return the view of the stored name, which reads it on demand
+   */
+  public FileName get(final int handle) {
+    this.check(handle);
+    return new StoredFileName(this, handle);
+  }
+
+  /**
+   * @return the stored file name
+   */
+  public String fileName(final int handle) {
+    final byte[] arena = this.check(handle);
+    final int header = header(arena, handle & ARENA - 1);
+    int offset = (handle & ARENA - 1) + varint(header);
+    final int length = header >>> 1;
+    if ((header & 1) == 0) {
+      return new String(arena, offset, length, StandardCharsets.ISO_8859_1);
+    }
+    final char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = (char) ((arena[offset] & 0xff) << 8 | arena[offset + 1] & 0xff);
+      offset += 2;
+    }
+    return new String(chars);
+  }
+
+  /**
+   * @return the text, restored from the stored file name
+   * @throws InvalidFileNameException the name is not accepted by the dialect
+   */
+  public String text(final int handle)
+      throws RecognitionException {
+    final String fileName = this.fileName(handle);
+    final String text = this.dialect.decode(fileName);
+    if (text != null) {
+      return text;
+    }
+    return FileNameDecoder.tryDecode(this.dialect, fileName).textOrThrow();
+  }
+
+  /**
+   * @return the count of the different names
+   */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * @return the bytes of the names and the table of the handles, the free rest of the last
+   * arena is not counted
+   */
+  public synchronized long bytes() {
+    return this.used + 4L * this.handles.length;
+  }
+
+  /**
+   * @return the arena of the handle, which points into the written names
+   */
+  private byte[] check(final int handle) {
+    final byte[][] arenas = this.arenas;
+    final int index = handle >>> OFFSET_BITS;
+    if (handle < 0 || index >= arenas.length || arenas[index] == null) {
+      throw new IllegalArgumentException("Unknown handle: " + handle);
+    }
+    final int position = this.position;
+    final int end = this.ends[index];
+    if ((handle & ARENA - 1) >= (end == 0 ? position : end)) {
+      throw new IllegalArgumentException("Unknown handle: " + handle);
+    }
+    return arenas[index];
+  }
+
+  /**
+   * @return the slot of the table with the handle of the file name or the empty one, where it
+   * is put
+   */
+  private int slot(final String fileName) {
+    final int mask = this.handles.length - 1;
+    int slot = spread(fileName.hashCode()) & mask;
+    while (this.handles[slot] != NO_HANDLE && !this.same(this.handles[slot], fileName)) {
+      slot = slot + 1 & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * @return true, if the name of the handle is the file name
+   */
+  private boolean same(final int handle, final String fileName) {
+    final byte[] arena = this.arenas[handle >>> OFFSET_BITS];
+    final int header = header(arena, handle & ARENA - 1);
+    final int offset = (handle & ARENA - 1) + varint(header);
+    final int length = header >>> 1;
+    if (length != fileName.length()) {
+      return false;
+    }
+    final boolean wide = (header & 1) != 0;
+    for (int i = 0; i < length; i++) {
+      final char c = wide
+                     ? (char) ((arena[offset + 2 * i] & 0xff) << 8
+                               | arena[offset + 2 * i + 1] & 0xff)
+                     : (char) (arena[offset + i] & 0xff);
+      if (c != fileName.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * write the name at the end of the last arena or into the new one
+   * @return the handle of the name
+   */
+  private int append(final String fileName) {
+    final int length = fileName.length();
+    // the header and the size of the wide name must fit int
+    if (length > Integer.MAX_VALUE >> 2) {
+      throw new IllegalArgumentException("The name is too long: " + length);
+    }
+    boolean wide = false;
+    for (int i = 0; i < length && !wide; i++) {
+      wide = fileName.charAt(i) > 0xff;
+    }
+    final int header = length << 1 | (wide ? 1 : 0);
+    final int size = varint(header) + (wide ? 2 * length : length);
+    if (size > ARENA - this.position) {
+      this.arena(Math.max(size, ARENA));
+    }
+    final byte[] arena = this.arenas[this.count - 1];
+    final int handle = (this.count - 1) << OFFSET_BITS | this.position;
+    int offset = this.position;
+    int rest = header;
+    while (rest >= 0x80) {
+      arena[offset++] = (byte) (rest | 0x80);
+      rest >>>= 7;
+    }
+    arena[offset++] = (byte) rest;
+    for (int i = 0; i < length; i++) {
+      final char c = fileName.charAt(i);
+      if (wide) {
+        arena[offset++] = (byte) (c >>> 8);
+      }
+      arena[offset++] = (byte) c;
+    }
+    this.position = offset;
+    this.used += size;
+    return handle;
+  }
+
+  /**
+   * begin the new arena
+   */
+  private void arena(final int capacity) {
+    if (this.count == MAX_ARENAS) {
+      throw new IllegalStateException("The store is full");
+    }
+    byte[][] arenas = this.arenas;
+    int[] ends = this.ends;
+    if (this.count == arenas.length) {
+      arenas = Arrays.copyOf(arenas, Math.min(2 * arenas.length, MAX_ARENAS));
+      ends = Arrays.copyOf(ends, arenas.length);
+    }
+    if (this.count > 0) {
+      ends[this.count - 1] = this.position;
+    }
+    this.ends = ends;
+    arenas[this.count++] = new byte[capacity];
+    // the arena, which is published, is never replaced, thus the readers see it
+    this.arenas = arenas;
+    this.position = 0;
+  }
+
+  private void grow() {
+    final int[] handles = filled(2 * this.handles.length);
+    final int mask = handles.length - 1;
+    for (final int handle : this.handles) {
+      if (handle != NO_HANDLE) {
+        int slot = spread(this.hash(handle)) & mask;
+        while (handles[slot] != NO_HANDLE) {
+          slot = slot + 1 & mask;
+        }
+        handles[slot] = handle;
+      }
+    }
+    this.handles = handles;
+  }
+
+  /**
+   * @return the hash of the name of the handle, the same, as String.hashCode()
+   */
+  private int hash(final int handle) {
+    final byte[] arena = this.arenas[handle >>> OFFSET_BITS];
+    final int header = header(arena, handle & ARENA - 1);
+    final int offset = (handle & ARENA - 1) + varint(header);
+    final int length = header >>> 1;
+    int result = 0;
+    if ((header & 1) == 0) {
+      for (int i = 0; i < length; i++) {
+        result = 31 * result + (arena[offset + i] & 0xff);
+      }
+    } else {
+      for (int i = 0; i < length; i++) {
+        result = 31 * result
+                 + ((arena[offset + 2 * i] & 0xff) << 8 | arena[offset + 2 * i + 1] & 0xff);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return the header of the name: the length and the flag of two bytes per character in
+   * the lowest bit
+   */
+  private static int header(final byte[] arena, final int offset) {
+    int result = 0;
+    for (int i = offset, shift = 0; ; i++, shift += 7) {
+      final byte b = arena[i];
+      result |= (b & 0x7f) << shift;
+      if (b >= 0) {
+        return result;
+      }
+    }
+  }
+
+  private static int spread(final int hash) {
+    return hash ^ hash >>> 16;
+  }
+
+  private static int varint(final int value) {
+    int result = 1;
+    for (int rest = value >>> 7; rest != 0; rest >>>= 7) {
+      result++;
+    }
+    return result;
+  }
+}
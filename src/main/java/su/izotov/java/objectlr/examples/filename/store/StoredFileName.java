@@ -0,0 +1,37 @@
+package su.izotov.java.objectlr.examples.filename.store;
+
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.FileName;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameLang;
+
+/**
+ * the view of the name of the store. It keeps only the handle, the file name is read and the
+ * text is restored on every call
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class StoredFileName
+    implements FileName, FileNameLang {
+  private final FileNameStore store;
+  private final int handle;
+
+  StoredFileName(final FileNameStore store, final int handle) {
+    this.store = store;
+    this.handle = handle;
+  }
+
+  @Override public String toTextRepresentation()
+      throws RecognitionException {
+    return this.store.text(this.handle);
+  }
+
+  @Override public String toStringRepresentation() {
+    return this.store.fileName(this.handle);
+  }
+
+  @Override public String toSource() {
+    return this.toStringRepresentation();
+  }
+}
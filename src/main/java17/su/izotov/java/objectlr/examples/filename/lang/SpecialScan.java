@@ -0,0 +1,29 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+/**
+ * the search of special characters for Java 17 and later. The vector API is an incubator
+ * module, which is resolved only with --add-modules jdk.incubator.vector, otherwise the
+ * scalar search is used
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class SpecialScan {
+  private static final boolean VECTOR =
+      ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+  private SpecialScan() {
+  }
+
+  /**
+   * @return the position of the first special character in the part or its end
+   */
+  static int find(
+      final SpecialChars special, final CharSequence text, final int from, final int to) {
+    if (VECTOR && to - from >= VectorScan.MIN_LENGTH && text instanceof String) {
+      return VectorScan.find(special, (String) text, from, to);
+    }
+    return special.scalar(text, from, to);
+  }
+}
@@ -0,0 +1,55 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * compares 8, 16 or 32 characters at once, depending on the vector size of the processor.
+ * The characters are copied by chunks into a buffer, because a vector is not loaded from
+ * a string
+ * <p>Created with IntelliJ IDEA.</p>
+ * @author Vladimir Izotov
+ * @version $Id$
+ * @since 1.0
+ */
+final class VectorScan {
+  private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+  /**
+   * shorter parts are searched faster by the scalar loop
+   */
+  static final int MIN_LENGTH = 2 * SPECIES.length();
+  private static final int CHUNK = 16 * SPECIES.length();
+  private static final ThreadLocal<char[]> BUFFER =
+      ThreadLocal.withInitial(() -> new char[CHUNK]);
+
+  private VectorScan() {
+  }
+
+  /**
+   * @return the position of the first special character in the part or its end
+   */
+  static int find(
+      final SpecialChars special, final String text, final int from, final int to) {
+    final char[] characters = special.characters();
+    final char[] buffer = BUFFER.get();
+    final int lanes = SPECIES.length();
+    int start = from;
+    while (to - start >= lanes) {
+      final int count = Math.min(CHUNK, (to - start) / lanes * lanes);
+      text.getChars(start, start + count, buffer, 0);
+      for (int i = 0; i < count; i += lanes) {
+        final ShortVector chars = ShortVector.fromCharArray(SPECIES, buffer, i);
+        VectorMask<Short> found = chars.eq((short) characters[0]);
+        for (int s = 1; s < characters.length; s++) {
+          found = found.or(chars.eq((short) characters[s]));
+        }
+        if (found.anyTrue()) {
+          return start + i + found.firstTrue();
+        }
+      }
+      start += count;
+    }
+    return special.scalar(text, start, to);
+  }
+}
@@ -0,0 +1,149 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameDecoder;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameEncoder;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * the bytes, allocated per conversion of the names of TextFileNameIT and StringFileNameIT,
+ * must not exceed the budget of allocation-budget.properties. The strings of Java 8 and of the
+ * runtime without compact strings have two bytes per character, they have their own budget
+ * with the suffix .java8. If a change reduces the allocation, the budget is lowered to the
+ * logged value with the same headroom
+ * @author Vladimir Izotov
+ */
+public class AllocationBudgetIT {
+  private static final String[] TEXTS = {
+      "Name/ of file.? with * all of | symbols \\ and : the ; <> line \n feed \n symbols",
+      "simple.FileName", "star*pipe|bslash\\.slash/colon:", "quot\"langle<rangle.>question?",
+      "_star_(STAR)pipe(PIPE)bslash(BSLASH).slash(SLASH)colon(COLON)_",
+      "quot(QUOT)langle(LANGLE)rangle.(RANGLE)question(QUESTION)",
+      "folder\n\\subfolder\n\\filename.extension.ext"};
+  private static final String[] FILE_NAMES = {
+      "simple.String", "star(STAR)pipe(PIPE)bslash(BSLASH).slash(SLASH)colon(COLON)",
+      "star___(STAR)pipe_(PIPE)bslash_(BSLASH).slash_(SLASH)colon_(COLON)__",
+      "quot_(QUOT)langle_(LANGLE)rangle._(RANGLE)question_(QUESTION)",
+      "quot(QUOT)langle(LANGLE)rangle.(RANGLE)question(QUESTION)",
+      "folder\\(BSLASH)subfolder\\(BSLASH)filename.extension.ext", "(BSLASH)"};
+  /**
+   * the calls of a round. The least allocation of the rounds is taken, it is not disturbed by
+   * the compilation
+   */
+  private static final int CALLS = 10000;
+  private static final int ROUNDS = 10;
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+  private static final Properties BUDGET = new Properties();
+  /**
+   * the suffix of the budget of the strings of two bytes per character
+   */
+  private static final String SUFFIX =
+      System.getProperty("java.specification.version").startsWith("1.")
+          || ManagementFactory.getRuntimeMXBean().getInputArguments().contains(
+          "-XX:-CompactStrings") ? ".java8" : "";
+  /**
+   * the result of the conversions is kept, thus it is not eliminated by the compiler
+   */
+  private static int sink;
+
+  @BeforeClass public static void loadBudget()
+      throws IOException {
+    try (InputStream in =
+             AllocationBudgetIT.class.getResourceAsStream("/allocation-budget.properties")) {
+      assertNotNull("allocation-budget.properties is not found", in);
+      BUDGET.load(in);
+    }
+  }
+
+  /**
+   * a conversion of the element of the corpus, which returns a hash of the result
+   */
+  private interface Conversion {
+    int convert(String source)
+        throws RecognitionException;
+  }
+
+  /**
+   * @return the least count of bytes per call
+   */
+  private static double allocated(final String[] corpus, final Conversion conversion)
+      throws RecognitionException {
+    assumeTrue(THREADS.isThreadAllocatedMemorySupported());
+    THREADS.setThreadAllocatedMemoryEnabled(true);
+    final long thread = Thread.currentThread().getId();
+    long least = Long.MAX_VALUE;
+    for (int round = 0; round < ROUNDS; round++) {
+      final long start = THREADS.getThreadAllocatedBytes(thread);
+      for (int n = 0; n < CALLS; n++) {
+        sink += conversion.convert(corpus[n % corpus.length]);
+      }
+      least = Math.min(least, THREADS.getThreadAllocatedBytes(thread) - start);
+    }
+    return (double) least / CALLS;
+  }
+
+  private static void check(final String name, final double allocated) {
+    final String operation = name + SUFFIX;
+    final String budget = BUDGET.getProperty(operation);
+    assertNotNull("no budget for " + operation, budget);
+    Logger.getGlobal().info(
+        String.format("%s allocates %.1f bytes per call, the budget is %s", operation,
+                      allocated, budget));
+    assertTrue(
+        String.format("%s allocates %.1f bytes per call, the budget is %s bytes", operation,
+                      allocated, budget),
+        allocated <= Double.parseDouble(budget));
+  }
+
+  @Test public void testTextFileName()
+      throws RecognitionException {
+    Logger.getGlobal().info("textFileName");
+    check("encode.TextFileName", allocated(
+        TEXTS, text -> new TextFileName(text).toStringRepresentation().length()));
+  }
+
+  @Test public void testEncoder()
+      throws RecognitionException {
+    Logger.getGlobal().info("encoder");
+    check("encode.FileNameEncoder", allocated(
+        TEXTS, text -> FileNameEncoder.encode(text).length()));
+    final StringBuilder fileName = new StringBuilder(256);
+    check("encode.FileNameEncoder.builder", allocated(TEXTS, text -> {
+      fileName.setLength(0);
+      FileNameEncoder.encode(text, 0, text.length(), true, fileName);
+      return fileName.length();
+    }));
+  }
+
+  @Test public void testStringFileName()
+      throws RecognitionException {
+    Logger.getGlobal().info("stringFileName");
+    check("decode.StringFileName", allocated(
+        FILE_NAMES, name -> new StringFileName(name).toTextRepresentation().length()));
+  }
+
+  @Test public void testDecoder()
+      throws RecognitionException {
+    Logger.getGlobal().info("decoder");
+    check("decode.FileNameDecoder", allocated(
+        FILE_NAMES, name -> FileNameDecoder.decode(name).length()));
+    final StringBuilder text = new StringBuilder(256);
+    check("decode.FileNameDecoder.builder", allocated(FILE_NAMES, name -> {
+      text.setLength(0);
+      return FileNameDecoder.decode(name, 0, name.length(), true, text);
+    }));
+    check("validate.FileNameDecoder", allocated(
+        FILE_NAMES, name -> FileNameDecoder.isValidEncoded(name) ? 1 : 0));
+  }
+}
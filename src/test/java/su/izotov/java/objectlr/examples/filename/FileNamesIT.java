@@ -0,0 +1,98 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * @author Vladimir Izotov
+ */
+public class FileNamesIT {
+  private static final RandomTexts TEXTS = new RandomTexts(
+      "_", "\\", "\n", "*", "|", ":", "?", "/", "(STAR)", "(SLASH)", "name", " ", ".ext");
+
+  private static List<String> texts(final int count) {
+    final Random random = new Random(20180608L);
+    final List<String> texts = new ArrayList<>(count);
+    for (int n = 0; n < count; n++) {
+      texts.add(TEXTS.text(random, 1, 12));
+    }
+    return texts;
+  }
+
+  @Test public void testBatch()
+      throws RecognitionException {
+    Logger.getGlobal().info("batch");
+    final List<String> texts = texts(5000);
+    final List<Conversion> encoded = FileNames.encode(texts);
+    final List<String> fileNames = new ArrayList<>(texts.size());
+    for (int i = 0; i < texts.size(); i++) {
+      final String fileName = new TextFileName(texts.get(i)).toStringRepresentation();
+      assertEquals(texts.get(i), encoded.get(i).source());
+      assertEquals(fileName, encoded.get(i).result());
+      fileNames.add(fileName);
+    }
+    final List<Conversion> decoded = FileNames.decode(fileNames);
+    for (int i = 0; i < texts.size(); i++) {
+      assertEquals(texts.get(i), decoded.get(i).result());
+    }
+    final List<String> streamed = FileNames.decode(fileNames.stream())
+        .map(Conversion::result)
+        .collect(Collectors.toList());
+    assertEquals(texts, streamed);
+    assertFalse(FileNames.decode(fileNames.stream()).isParallel());
+    final List<String> parallel = FileNames.encode(texts.parallelStream())
+        .map(Conversion::result)
+        .collect(Collectors.toList());
+    assertEquals(fileNames, parallel);
+  }
+
+  @Test public void testFailures() {
+    Logger.getGlobal().info("failures");
+    final List<Conversion> decoded = FileNames.decode("first", "broken_", "third(STAR)");
+    assertEquals("first", decoded.get(0).result());
+    assertFalse(decoded.get(1).successful());
+    assertNotNull(decoded.get(1).failure());
+    assertEquals("third*", decoded.get(2).result());
+  }
+
+  @Test public void testThroughput() {
+    Logger.getGlobal().info("throughput");
+    final List<String> texts = texts(200000);
+    final List<String> fileNames = FileNames.encode(texts).stream()
+        .map(Conversion::result)
+        .collect(Collectors.toList());
+    final int cores = Runtime.getRuntime().availableProcessors();
+    for (final int parallelism : new int[]{1, 4, cores}) {
+      final ForkJoinPool pool = new ForkJoinPool(parallelism);
+      try {
+        long encoding = Long.MAX_VALUE;
+        long decoding = Long.MAX_VALUE;
+        for (int run = 0; run < 5; run++) {
+          long start = System.nanoTime();
+          FileNames.encode(texts, pool);
+          encoding = Math.min(encoding, System.nanoTime() - start);
+          start = System.nanoTime();
+          assertTrue(FileNames.decode(fileNames, pool).get(0).successful());
+          decoding = Math.min(decoding, System.nanoTime() - start);
+        }
+        Logger.getGlobal().info(String.format(
+            "%d workers (%d cores): encode %.2f M names/s, decode %.2f M names/s",
+            parallelism, cores, texts.size() * 1e3 / encoding,
+            texts.size() * 1e3 / decoding));
+      } finally {
+        pool.shutdown();
+      }
+    }
+  }
+}
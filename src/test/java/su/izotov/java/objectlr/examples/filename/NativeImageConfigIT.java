@@ -0,0 +1,94 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.Sense;
+import su.izotov.java.objectlr.examples.filename.lang.FNLang;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+import su.izotov.java.objectlr.examples.filename.lang.token.Star;
+import su.izotov.java.objectlr.examples.filename.lang.token.UnderScore;
+
+/**
+ * the reflection configuration of native-image must cover all senses of the language, which
+ * the language library concatenates by reflection
+ * @author Vladimir Izotov
+ */
+public class NativeImageConfigIT {
+  private static final String CONFIG =
+      "/META-INF/native-image/su.izotov/filename/reflect-config.json";
+
+  /**
+   * @return the public senses of the package of the class. The classes are listed in the
+   * directory or the jar, where the class is loaded from, as the other layers of the
+   * multi-release classes may be before it in the classpath
+   */
+  private static List<Class<?>> senses(final Class<?> sample)
+      throws IOException, URISyntaxException, ClassNotFoundException {
+    final String pack = sample.getPackage().getName();
+    final String directory = pack.replace('.', '/') + '/';
+    final File source = new File(
+        sample.getProtectionDomain().getCodeSource().getLocation().toURI());
+    final List<String> files = new ArrayList<>();
+    if (source.isDirectory()) {
+      final String[] names = new File(source, directory).list();
+      if (names != null) {
+        files.addAll(Arrays.asList(names));
+      }
+    } else {
+      try (JarFile jar = new JarFile(source)) {
+        for (final JarEntry entry : Collections.list(jar.entries())) {
+          final String name = entry.getName();
+          if (name.startsWith(directory) && name.indexOf('/', directory.length()) < 0) {
+            files.add(name.substring(directory.length()));
+          }
+        }
+      }
+    }
+    final List<Class<?>> senses = new ArrayList<>();
+    for (final String file : files) {
+      if (file.endsWith(".class") && !file.contains("$")) {
+        final Class<?> type =
+            Class.forName(pack + '.' + file.substring(0, file.length() - ".class".length()));
+        if (Sense.class.isAssignableFrom(type) && Modifier.isPublic(type.getModifiers())) {
+          senses.add(type);
+        }
+      }
+    }
+    return senses;
+  }
+
+  @Test public void testSensesAreConfigured()
+      throws IOException, URISyntaxException, ClassNotFoundException {
+    Logger.getGlobal().info("sensesAreConfigured");
+    final String config;
+    try (InputStream input = NativeImageConfigIT.class.getResourceAsStream(CONFIG)) {
+      assertNotNull(CONFIG, input);
+      config = new Scanner(input, StandardCharsets.UTF_8.name()).useDelimiter("\\A").next();
+    }
+    final List<Class<?>> senses = senses(FNLang.class);
+    senses.addAll(senses(UnderScore.class));
+    // the language, the text, the special character and the translated tokens at least
+    assertTrue(senses.toString(), senses.size() > 12);
+    assertTrue(senses.contains(FNLang.class));
+    assertTrue(senses.contains(TextFileName.class));
+    assertTrue(senses.contains(Star.class));
+    for (final Class<?> sense : senses) {
+      assertTrue(sense.getName(), config.contains('"' + sense.getName() + '"'));
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.util.Random;
+
+/**
+ * the random texts and file names, which are concatenated of the pieces, chosen by the test:
+ * the tokens, their parts, the special characters and the neighbour characters
+ * @author Vladimir Izotov
+ */
+public final class RandomTexts {
+  private final String[] pieces;
+
+  public RandomTexts(final String... pieces) {
+    this.pieces = pieces.clone();
+  }
+
+  /**
+   * @return the texts of the single characters of the alphabet, the surrogate pairs are not
+   * divided
+   */
+  public static RandomTexts characters(final String alphabet) {
+    return new RandomTexts(
+        alphabet.codePoints().mapToObj(c -> new String(Character.toChars(c)))
+            .toArray(String[]::new));
+  }
+
+  /**
+   * @return one of the pieces
+   */
+  public String piece(final Random random) {
+    return this.pieces[random.nextInt(this.pieces.length)];
+  }
+
+  /**
+   * @return the text of the random count of the pieces from the minimum to the maximum
+   */
+  public String text(final Random random, final int minimum, final int maximum) {
+    final StringBuilder text = new StringBuilder();
+    final int count = minimum + random.nextInt(maximum - minimum + 1);
+    for (int i = 0; i < count; i++) {
+      text.append(this.piece(random));
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,74 @@
+package su.izotov.java.objectlr.examples.filename;
+
+import java.util.Random;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * the automaton of StringFileName must give the same results, as the language recognition.
+ * The names, which are not recognized, are rejected by both, though StringFileName rejects
+ * them by its own exception
+ * @author Vladimir Izotov
+ */
+public class RecognizedFileNameIT {
+  private static final RandomTexts TEXTS = new RandomTexts(
+      "_", "__", "___", "\\", "(", ")", "(STAR)", "(PIPE)", "(BSLASH)", "(COLON)", "(QUOT)",
+      "(LANGLE)", "(RANGLE)", "(QUESTION)", "(SLASH)", "(STAR", "SLASH)", "((", "a", "bc",
+      ".", " ", "*", "\n", "\u042f", "\ud83d\ude00");
+
+  /**
+   * @return text or the mark of the failure
+   */
+  private static String decoded(final FileName fileName) {
+    try {
+      return fileName.toTextRepresentation();
+    } catch (final RecognitionException | RuntimeException e) {
+      return "!";
+    }
+  }
+
+  private static void assertSame(final String fileName) {
+    assertEquals(
+        fileName,
+        decoded(new RecognizedFileName(fileName)),
+        decoded(new StringFileName(fileName)));
+  }
+
+  @Test public void testKnownNames() {
+    Logger.getGlobal().info("knownNames");
+    final String[] names = {
+        "simple.String",
+        "star(STAR)pipe(PIPE)bslash(BSLASH).slash(SLASH)colon(COLON)",
+        "star___(STAR)pipe_(PIPE)bslash_(BSLASH).slash_(SLASH)colon_(COLON)__",
+        "quot_(QUOT)langle_(LANGLE)rangle._(RANGLE)question_(QUESTION)",
+        "quot(QUOT)langle(LANGLE)rangle.(RANGLE)question(QUESTION)",
+        "folder\\(BSLASH)subfolder\\(BSLASH)filename.extension.ext",
+        "(BSLASH)",
+        "", "_", "a_", "_a", "___", "_\\", "__\\", "(STA(STAR)"};
+    for (final String name : names) {
+      assertSame(name);
+    }
+  }
+
+  @Test public void testFuzzedNames() {
+    Logger.getGlobal().info("fuzzedNames");
+    final Random random = new Random(20180608L);
+    for (int n = 0; n < 5000; n++) {
+      assertSame(TEXTS.text(random, 0, 9));
+    }
+  }
+
+  @Test public void testEncodedNames() {
+    Logger.getGlobal().info("encodedNames");
+    final Random random = new Random(20180609L);
+    for (int n = 0; n < 5000; n++) {
+      final String text = TEXTS.text(random, 1, 10);
+      final String fileName = new TextFileName(text).toStringRepresentation();
+      assertSame(fileName);
+      assertEquals(text, decoded(new StringFileName(fileName)));
+    }
+  }
+}
@@ -2,9 +2,13 @@ package su.izotov.java.objectlr.examples.filename;
 
 import java.util.logging.Logger;
 import org.apache.commons.lang3.builder.EqualsBuilder;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.DecodeResult;
+import su.izotov.java.objectlr.examples.filename.lang.InvalidFileNameException;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
 
 /**
  * @author Vladimir Izotov
@@ -73,4 +77,54 @@ public class StringFileNameIT {
     String result = instance.toTextRepresentation();
     assertTrue(EqualsBuilder.reflectionEquals(expResult, result,false, null, true));
   }
+
+  @Test public void testRecognizedOnce()
+      throws RecognitionException {
+    Logger.getGlobal().info("recognizedOnce");
+    final CountingFileName instance = new CountingFileName("star(STAR)__");
+    assertEquals("star(STAR)__", instance.toStringRepresentation());
+    assertEquals(0, instance.recognitions);
+    assertEquals("star*_", instance.toTextRepresentation());
+    assertEquals("star*_", instance.toTextRepresentation());
+    assertEquals("star(STAR)__", instance.toStringRepresentation());
+    assertEquals(1, instance.recognitions);
+  }
+
+  @Test public void testInvalidNames()
+      throws RecognitionException {
+    Logger.getGlobal().info("invalidNames");
+    final String[] names = {"", "a_", "___", "(STAR)_"};
+    final DecodeResult.Error[] errors = {
+        DecodeResult.Error.EMPTY, DecodeResult.Error.DANGLING_ESCAPE,
+        DecodeResult.Error.DANGLING_ESCAPE, DecodeResult.Error.DANGLING_ESCAPE};
+    for (int i = 0; i < names.length; i++) {
+      try {
+        new StringFileName(names[i]).toTextRepresentation();
+        throw new AssertionError("the name must be rejected: " + names[i]);
+      } catch (final InvalidFileNameException e) {
+        assertEquals(names[i], errors[i], e.error());
+        assertEquals(names[i], Math.max(0, names[i].length() - 1), e.position());
+        assertEquals(0, e.getStackTrace().length);
+      }
+    }
+    assertEquals("a_", new StringFileName("a__").toTextRepresentation());
+  }
+
+  /**
+   * counts recognitions of the file name
+   */
+  private static final class CountingFileName
+      extends StringFileName {
+    private int recognitions;
+
+    CountingFileName(final String fileName) {
+      super(fileName);
+    }
+
+    @Override protected TextFileName recognize()
+        throws RecognitionException {
+      this.recognitions++;
+      return super.recognize();
+    }
+  }
 }
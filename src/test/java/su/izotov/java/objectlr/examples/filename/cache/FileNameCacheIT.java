@@ -0,0 +1,106 @@
+package su.izotov.java.objectlr.examples.filename.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * @author Vladimir Izotov
+ */
+public class FileNameCacheIT {
+  @Test public void testHitsAndMisses()
+      throws RecognitionException {
+    Logger.getGlobal().info("hitsAndMisses");
+    final FileNameCache cache = FileNameCache.withMaxEntries(100);
+    assertEquals("star*pipe|", cache.decode("star(STAR)pipe(PIPE)"));
+    assertEquals("star*pipe|", cache.decode("star(STAR)pipe(PIPE)"));
+    assertEquals("star(STAR)__", cache.encode("star*_"));
+    final CacheStatistics decoding = cache.decoding();
+    assertEquals(1L, decoding.hits());
+    assertEquals(1L, decoding.misses());
+    assertEquals(1L, decoding.size());
+    assertEquals(1L, cache.encoding().misses());
+  }
+
+  @Test public void testEviction() {
+    Logger.getGlobal().info("eviction");
+    final FileNameCache cache = FileNameCache.withMaxEntries(1000);
+    for (int i = 0; i < 10000; i++) {
+      cache.encode("name:" + i);
+    }
+    final CacheStatistics encoding = cache.encoding();
+    assertTrue(encoding.toString(), encoding.size() <= 1000);
+    assertEquals(10000L, encoding.size() + encoding.evictions());
+    final FileNameCache bytes = FileNameCache.withMaxBytes(64 * 1024);
+    for (int i = 0; i < 10000; i++) {
+      bytes.encode("name:" + i);
+    }
+    assertTrue(bytes.encoding().toString(), bytes.encoding().weight() <= 64 * 1024);
+  }
+
+  @Test public void testOversizedEntry() {
+    Logger.getGlobal().info("oversizedEntry");
+    final FileNameCache cache = FileNameCache.withMaxBytes(4096);
+    cache.encode("small");
+    final StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      text.append("large*");
+    }
+    assertTrue(cache.encode(text.toString()).startsWith("large(STAR)"));
+    cache.encode("small");
+    final CacheStatistics encoding = cache.encoding();
+    assertEquals(1L, encoding.rejections());
+    assertEquals(0L, encoding.evictions());
+    assertEquals(1L, encoding.hits());
+    assertEquals(1L, encoding.size());
+  }
+
+  @Test public void testRecentlyUsedStays() {
+    Logger.getGlobal().info("recentlyUsedStays");
+    final FileNameCache cache = FileNameCache.withMaxEntries(10);
+    cache.encode("hot");
+    for (int i = 0; i < 100; i++) {
+      cache.encode("cold" + i);
+      cache.encode("hot");
+    }
+    assertEquals(100L, cache.encoding().hits());
+  }
+
+  @Test public void testConcurrentUse()
+      throws Exception {
+    Logger.getGlobal().info("concurrentUse");
+    final FileNameCache cache = FileNameCache.withMaxEntries(500);
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Future<Boolean>> results = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        results.add(executor.submit(() -> {
+          for (int i = 0; i < 20000; i++) {
+            final String text = "name/" + i % 700;
+            final String fileName = new TextFileName(text).toStringRepresentation();
+            if (!fileName.equals(cache.encode(text))
+                || !text.equals(cache.decode(fileName))) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (final Future<Boolean> result : results) {
+        assertTrue(result.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertEquals(160000L, cache.decoding().hits() + cache.decoding().misses());
+    assertTrue(cache.decoding().size() <= 500);
+  }
+}
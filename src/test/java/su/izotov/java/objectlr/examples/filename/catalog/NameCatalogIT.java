@@ -0,0 +1,177 @@
+package su.izotov.java.objectlr.examples.filename.catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import su.izotov.java.objectlr.examples.filename.path.PathCodec;
+
+/**
+ * the catalog must find the entries of the tree in both directions after the restart and
+ * follow the changes of the tree
+ * @author Vladimir Izotov
+ */
+public class NameCatalogIT {
+  private static final int FOLDERS = 40;
+  private static final int FILES = 50;
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+  private final PathCodec codec = new PathCodec();
+  private Path root;
+  private Path file;
+
+  private static List<String> texts(final String... texts) {
+    return Arrays.asList(texts);
+  }
+
+  private static String folderText(final int i) {
+    return String.format("folder %02d: %s", i, i % 2 == 0 ? "a/b" : "<notes>");
+  }
+
+  private static String fileText(final int i) {
+    return String.format("report %03d?%s", i, i % 5 == 0 ? " *draft*" : "");
+  }
+
+  @Before public void tree()
+      throws IOException {
+    this.root = this.folder.newFolder("tree").toPath();
+    this.file = this.folder.getRoot().toPath().resolve("tree.catalog");
+    for (int i = 0; i < FOLDERS; i++) {
+      Files.createDirectory(this.codec.encode(this.root, texts(folderText(i))));
+      for (int j = 0; j < FILES; j++) {
+        Files.createFile(this.codec.encode(this.root, texts(folderText(i), fileText(j))));
+      }
+    }
+  }
+
+  private Path create(final String... texts)
+      throws IOException {
+    final Path path = this.codec.encode(this.root, Arrays.asList(texts));
+    return Files.createFile(path);
+  }
+
+  private static void await(final BooleanSupplier condition) {
+    final long deadline = System.nanoTime() + 30_000_000_000L;
+    while (!condition.getAsBoolean()) {
+      assertTrue("the change is not applied", System.nanoTime() < deadline);
+      try {
+        Thread.sleep(20L);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  @Test public void testLookups()
+      throws IOException {
+    Logger.getGlobal().info("lookups");
+    final NameCatalog catalog = NameCatalog.build(this.root, this.file);
+    assertEquals(FOLDERS * (FILES + 1), catalog.size());
+    for (int i = 0; i < FOLDERS; i++) {
+      for (int j = 0; j < FILES; j++) {
+        final List<String> texts = texts(folderText(i), fileText(j));
+        final Path relative = this.codec.encode(texts);
+        assertEquals(texts, catalog.decode(relative));
+        assertEquals(texts, catalog.decode(this.root.resolve(relative)));
+        assertEquals(relative, catalog.encode(texts));
+      }
+      assertEquals(
+          texts(folderText(i)), catalog.decode(this.codec.encode(texts(folderText(i)))));
+    }
+    assertNull(catalog.decode(this.root.getFileSystem().getPath("absent")));
+    assertNull(catalog.encode(texts(folderText(0), "absent")));
+    assertNull(catalog.encode(texts("nul\0")));
+    assertNull(catalog.encode(Collections.<String>emptyList()));
+  }
+
+  /**
+   * the reopened catalog is read from the file, the tree is not listed again
+   */
+  @Test public void testReopen()
+      throws IOException {
+    Logger.getGlobal().info("reopen");
+    NameCatalog.build(this.root, this.file);
+    final Path moved = this.folder.newFolder("empty").toPath();
+    final NameCatalog catalog = NameCatalog.open(moved, this.file);
+    assertEquals(FOLDERS * (FILES + 1), catalog.size());
+    final List<String> texts = texts(folderText(3), fileText(7));
+    assertEquals(this.codec.encode(texts), catalog.encode(texts));
+    final Path other = this.folder.getRoot().toPath().resolve("other.catalog");
+    assertEquals(0, NameCatalog.open(moved, other).size());
+    assertTrue(Files.exists(other));
+  }
+
+  @Test public void testChangesAndCompaction()
+      throws IOException {
+    Logger.getGlobal().info("changesAndCompaction");
+    final NameCatalog catalog = NameCatalog.build(this.root, this.file);
+    final Path created = this.create(folderText(1), "new: file");
+    catalog.add(created);
+    catalog.add(created);
+    final Path directory = this.codec.encode(this.root, texts(folderText(2)));
+    catalog.remove(directory);
+    assertEquals(FOLDERS * (FILES + 1) + 1 - (FILES + 1), catalog.size());
+    assertEquals(FILES + 2, catalog.pending());
+    assertNull(catalog.decode(directory.resolve(this.codec.encode(texts(fileText(0))))));
+    assertNull(catalog.encode(texts(folderText(2), fileText(0))));
+    assertEquals(texts(folderText(1), "new: file"), catalog.decode(created));
+    // the directory is back, as it is in the tree
+    catalog.add(directory);
+    assertEquals(texts(folderText(2), fileText(0)),
+                 catalog.decode(directory.resolve(this.codec.encode(texts(fileText(0))))));
+    catalog.remove(directory);
+    catalog.compact();
+    assertEquals(0, catalog.pending());
+    final NameCatalog reopened = NameCatalog.open(this.root, this.file);
+    for (final NameCatalog current : Arrays.asList(catalog, reopened)) {
+      assertEquals(FOLDERS * (FILES + 1) + 1 - (FILES + 1), current.size());
+      assertEquals(this.root.relativize(created),
+                   current.encode(texts(folderText(1), "new: file")));
+      assertNull(current.encode(texts(folderText(2))));
+    }
+  }
+
+  @Test public void testWatch()
+      throws IOException {
+    Logger.getGlobal().info("watch");
+    final NameCatalog catalog = NameCatalog.build(this.root, this.file);
+    final CatalogWatcher watcher = catalog.watch();
+    try {
+      final Path created = this.create(folderText(0), "created|file");
+      await(() -> catalog.encode(texts(folderText(0), "created|file")) != null);
+      final Path renamed = Files.move(
+          created, created.resolveSibling(this.codec.encode(texts("renamed*file"))));
+      await(() -> catalog.decode(renamed) != null && catalog.decode(created) == null);
+      assertEquals(texts(folderText(0), "renamed*file"), catalog.decode(renamed));
+      Files.delete(renamed);
+      await(() -> catalog.encode(texts(folderText(0), "renamed*file")) == null);
+      final Path directory = Files.createDirectory(
+          this.codec.encode(this.root, texts("new: folder")));
+      final List<Path> inside = new ArrayList<>();
+      for (int i = 0; i < 10; i++) {
+        inside.add(this.create("new: folder", fileText(i)));
+      }
+      await(() -> inside.stream().allMatch(path -> catalog.decode(path) != null));
+      final Path folder3 = this.codec.encode(this.root, texts(folderText(3)));
+      Files.move(folder3, folder3.resolveSibling(this.codec.encode(texts("moved: 3"))));
+      await(() -> catalog.encode(texts("moved: 3", fileText(FILES - 1))) != null
+                  && catalog.encode(texts(folderText(3), fileText(0))) == null);
+      assertEquals(texts("new: folder"), catalog.decode(directory));
+    } finally {
+      watcher.close();
+    }
+    Logger.getGlobal().info("pending changes: " + catalog.pending());
+  }
+}
@@ -0,0 +1,192 @@
+package su.izotov.java.objectlr.examples.filename.cli;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.examples.filename.lang.Dialect;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameEncoder;
+
+/**
+ * the filter must convert every name, as the encoder and the decoder do it, and keep the
+ * order of the names, whichever batches the input is divided into
+ * @author Vladimir Izotov
+ */
+public class FileNameFilterIT {
+  private static final String ALPHABET = "abcXYZ019 .-_()|*:<>?\"\\/\u042f\u00e9\ud83d\ude00";
+
+  private static String filter(
+      final FileNameFilter filter, final String input, final long failures)
+      throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    assertEquals(
+        failures,
+        filter.filter(
+            new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out,
+            new PrintStream(errors, true, "UTF-8")));
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static String name(final Random random) {
+    final StringBuilder name = new StringBuilder();
+    final int length = 1 + random.nextInt(40);
+    for (int i = 0; i < length; i++) {
+      if (random.nextInt(20) == 0) {
+        name.append("(STAR)");
+      } else {
+        final int c = random.nextInt(ALPHABET.length() - 1);
+        name.append(ALPHABET.charAt(c));
+        if (Character.isHighSurrogate(ALPHABET.charAt(c))) {
+          name.append(ALPHABET.charAt(c + 1));
+        }
+      }
+    }
+    return name.toString();
+  }
+
+  @Test public void testEncodeLines()
+      throws IOException {
+    Logger.getGlobal().info("encodeLines");
+    final FileNameFilter filter = new FileNameFilter(true, Dialect.DEFAULT, '\n', 2, 3);
+    assertEquals(
+        "a__b\n(STAR)\n\n_(STAR)(PIPE)\nlast\n",
+        filter(filter, "a_b\n*\n\n(STAR)|\nlast", 0));
+    assertEquals("", filter(filter, "", 0));
+  }
+
+  @Test public void testDecodeNulSeparated()
+      throws IOException {
+    Logger.getGlobal().info("decodeNulSeparated");
+    final FileNameFilter filter = new FileNameFilter(false, Dialect.DEFAULT, '\0', 1, 2);
+    assertEquals(
+        "two\nlines\0a:b\0\0", filter(filter, "two\\lines\0a(COLON)b\0\0", 0));
+  }
+
+  @Test public void testUndecodable()
+      throws IOException {
+    Logger.getGlobal().info("undecodable");
+    final FileNameFilter filter = new FileNameFilter(false, Dialect.OBJECT_STORE, '\n', 4, 1);
+    final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(
+        1L,
+        filter.filter(
+            new ByteArrayInputStream("a(HASH)\nb_\nc\n".getBytes(StandardCharsets.UTF_8)), out,
+            new PrintStream(errors, true, "UTF-8")));
+    assertEquals("a#\nb_\nc\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    assertTrue(new String(errors.toByteArray(), StandardCharsets.UTF_8).contains("b_"));
+  }
+
+  /**
+   * the new line of the text would divide the decoded name into two lines
+   */
+  @Test public void testDecodedSeparator()
+      throws IOException {
+    Logger.getGlobal().info("decodedSeparator");
+    final ByteArrayOutputStream errors = new ByteArrayOutputStream();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    assertEquals(
+        1,
+        FileNameFilter.run(
+            new String[]{"decode", "--batch", "2"},
+            new ByteArrayInputStream(
+                "a(COLON)\ntwo\\lines\nb_\\\n".getBytes(StandardCharsets.UTF_8)),
+            out, new PrintStream(errors, true, "UTF-8")));
+    assertEquals(
+        "a:\ntwo\\lines\nb\\\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    assertTrue(
+        new String(errors.toByteArray(), StandardCharsets.UTF_8).contains("two\\lines"));
+  }
+
+  @Test public void testArguments() {
+    Logger.getGlobal().info("arguments");
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final PrintStream errors = new PrintStream(new ByteArrayOutputStream());
+    assertEquals(2, FileNameFilter.run(new String[]{"-0"}, System.in, out, errors));
+    assertEquals(
+        2, FileNameFilter.run(new String[]{"encode", "--batch", "0"}, System.in, out, errors));
+    assertEquals(
+        2, FileNameFilter.run(new String[]{"encode", "--dialect", "fat"}, System.in, out,
+                              errors));
+    assertEquals(
+        0,
+        FileNameFilter.run(
+            new String[]{"encode", "--dialect", "windows", "--threads", "2"},
+            new ByteArrayInputStream("con.txt\n".getBytes(StandardCharsets.UTF_8)), out,
+            errors));
+    assertEquals("_con.txt\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+  }
+
+  /**
+   * encodes and decodes the generated file and measures the throughput
+   */
+  @Test public void testThroughput()
+      throws IOException {
+    Logger.getGlobal().info("throughput");
+    final Random random = new Random(20180801L);
+    final Path directory = Files.createTempDirectory("filename");
+    final Path texts = directory.resolve("texts");
+    final Path fileNames = directory.resolve("fileNames");
+    final Path restored = directory.resolve("restored");
+    final StringBuilder expected = new StringBuilder();
+    try {
+      try (BufferedWriter writer = Files.newBufferedWriter(texts, StandardCharsets.UTF_8)) {
+        for (int i = 0; i < 300000; i++) {
+          final String name = name(random);
+          writer.write(name);
+          writer.write('\n');
+          if (i < 1000) {
+            expected.append(FileNameEncoder.encode(name)).append('\n');
+          }
+        }
+      }
+      final long size = Files.size(texts);
+      for (final int threads : new int[]{1, Runtime.getRuntime().availableProcessors()}) {
+        final long encoding = run(new FileNameFilter(true, Dialect.DEFAULT, '\n', 4096,
+                                                     threads), texts, fileNames);
+        final long decoding = run(new FileNameFilter(false, Dialect.DEFAULT, '\n', 4096,
+                                                     threads), fileNames, restored);
+        Logger.getGlobal().info(String.format(
+            "%d threads, %d bytes: encoding %.1f MB/s, decoding %.1f MB/s", threads, size,
+            (double) size / encoding, (double) size / decoding));
+        assertArrayEquals(Files.readAllBytes(texts), Files.readAllBytes(restored));
+        final byte[] head = Arrays.copyOf(
+            Files.readAllBytes(fileNames), expected.toString().getBytes(
+                StandardCharsets.UTF_8).length);
+        assertEquals(expected.toString(), new String(head, StandardCharsets.UTF_8));
+      }
+    } finally {
+      Files.deleteIfExists(texts);
+      Files.deleteIfExists(fileNames);
+      Files.deleteIfExists(restored);
+      Files.deleteIfExists(directory);
+    }
+  }
+
+  /**
+   * @return the time of the filtering in microseconds
+   */
+  private static long run(final FileNameFilter filter, final Path from, final Path to)
+      throws IOException {
+    try (InputStream in = Files.newInputStream(from);
+         OutputStream out = Files.newOutputStream(to)) {
+      final long start = System.nanoTime();
+      assertEquals(0L, filter.filter(in, out, System.err));
+      return (System.nanoTime() - start) / 1000;
+    }
+  }
+}
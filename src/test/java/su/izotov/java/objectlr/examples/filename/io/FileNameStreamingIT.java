@@ -0,0 +1,136 @@
+package su.izotov.java.objectlr.examples.filename.io;
+
+import java.io.CharConversionException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Random;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.RandomTexts;
+import su.izotov.java.objectlr.examples.filename.StringFileName;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * streaming conversion must give the same result as the conversion of the whole string,
+ * regardless of the chunks
+ * @author Vladimir Izotov
+ */
+public class FileNameStreamingIT {
+  private static final RandomTexts TEXTS = new RandomTexts(
+      "_", "__", "\\", "\n", "(", ")", "*", "|", ":", "\"", "<", ">", "?", "/", "(STAR)",
+      "(PIPE)", "(BSLASH)", "(COLON)", "(QUOT)", "(LANGLE)", "(RANGLE)", "(QUESTION)",
+      "(SLASH)", "(QUEST", "a", "bc", ".", " ", "\u042f");
+
+  private static String encoded(final String text, final Random random)
+      throws IOException {
+    final StringWriter result = new StringWriter();
+    try (Writer writer = new FileNameEncodingWriter(result)) {
+      int i = 0;
+      while (i < text.length()) {
+        final int len = Math.min(text.length() - i, 1 + random.nextInt(7));
+        writer.write(text, i, len);
+        i += len;
+      }
+    }
+    return result.toString();
+  }
+
+  private static String decoded(
+      final String fileName, final Random random, final char delimiter)
+      throws IOException {
+    final StringBuilder result = new StringBuilder();
+    try (Reader reader = new FileNameDecodingReader(
+        new ChunkedReader(fileName, random), delimiter)) {
+      final char[] buffer = new char[5];
+      int count;
+      while ((count = reader.read(buffer, 0, 1 + random.nextInt(buffer.length))) >= 0) {
+        result.append(buffer, 0, count);
+      }
+    }
+    return result.toString();
+  }
+
+  @Test public void testEncoding()
+      throws IOException {
+    Logger.getGlobal().info("encoding");
+    final Random random = new Random(20180608L);
+    for (int n = 0; n < 3000; n++) {
+      final String text = TEXTS.text(random, 1, 40);
+      assertEquals(
+          text, new TextFileName(text).toStringRepresentation(), encoded(text, random));
+    }
+  }
+
+  @Test public void testDecoding()
+      throws IOException, RecognitionException {
+    Logger.getGlobal().info("decoding");
+    final Random random = new Random(20180609L);
+    for (int n = 0; n < 3000; n++) {
+      final String fileName =
+          new TextFileName(TEXTS.text(random, 1, 40)).toStringRepresentation();
+      assertEquals(
+          fileName,
+          new StringFileName(fileName).toTextRepresentation(),
+          decoded(fileName, random, '\0'));
+    }
+  }
+
+  @Test public void testManifest()
+      throws IOException, RecognitionException {
+    Logger.getGlobal().info("manifest");
+    final Random random = new Random(20180610L);
+    final StringBuilder texts = new StringBuilder();
+    final StringBuilder fileNames = new StringBuilder();
+    for (int n = 0; n < 500; n++) {
+      final String text = TEXTS.text(random, 1, 40);
+      texts.append(text).append('\n');
+      // the new line of the text separates the names of the manifest
+      for (final String name : text.split("\n", -1)) {
+        fileNames.append(new TextFileName(name).toStringRepresentation()).append('\n');
+      }
+    }
+    final StringWriter encoded = new StringWriter();
+    try (Writer writer = new FileNameEncodingWriter(encoded, '\n')) {
+      writer.write(texts.toString());
+    }
+    assertEquals(fileNames.toString(), encoded.toString());
+    assertEquals(texts.toString(), decoded(fileNames.toString(), random, '\n'));
+  }
+
+  @Test(expected = CharConversionException.class)
+  public void testSingleSpecialCharacter()
+      throws IOException {
+    Logger.getGlobal().info("singleSpecialCharacter");
+    decoded("name_\nother", new Random(1L), '\n');
+  }
+
+  @Test(expected = CharConversionException.class)
+  public void testDecodedDelimiter()
+      throws IOException {
+    Logger.getGlobal().info("decodedDelimiter");
+    decoded("first:second(COLON)third", new Random(1L), ':');
+  }
+
+  /**
+   * returns the content by small chunks
+   */
+  private static final class ChunkedReader
+      extends StringReader {
+    private final Random random;
+
+    ChunkedReader(final String content, final Random random) {
+      super(content);
+      this.random = random;
+    }
+
+    @Override public int read(final char[] cbuf, final int off, final int len)
+        throws IOException {
+      return super.read(cbuf, off, Math.min(len, 1 + this.random.nextInt(9)));
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.util.Random;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.examples.filename.RandomTexts;
+
+/**
+ * every dialect restores the text from its file name, which satisfies the restrictions of
+ * the dialect
+ * @author Vladimir Izotov
+ */
+public class DialectIT {
+  private static final RandomTexts TEXTS = new RandomTexts(
+      "_", "__", "(STAR)", "(DOT)", "(SPACE)", "(HASH)", "(DOT", "CON", "con", "Nul", "LPT1",
+      "COM", ".", "..", " ", "a", "txt", "*", "\\", "\n", "\t", "\u001f", "#", "%", "{", "~",
+      "+", "\u042f");
+
+  @Test public void testDefault() {
+    Logger.getGlobal().info("default");
+    assertEquals("CON.", Dialect.DEFAULT.encode("CON."));
+    assertEquals("a(STAR)__b(DOT)_(PIPE)", Dialect.DEFAULT.encode("a*_b(DOT)(PIPE)"));
+    assertEquals("(DOT)", Dialect.DEFAULT.decode("(DOT)"));
+    final Random random = new Random(20180710L);
+    for (int n = 0; n < 5000; n++) {
+      final String text = TEXTS.text(random, 1, 6);
+      assertEquals(FileNameEncoder.encode(text), Dialect.DEFAULT.encode(text));
+    }
+  }
+
+  @Test public void testWindows() {
+    Logger.getGlobal().info("windows");
+    final Dialect windows = Dialect.WINDOWS;
+    assertEquals("_CON", windows.encode("CON"));
+    assertEquals("_con.txt", windows.encode("con.txt"));
+    assertEquals("_Lpt1.tar.gz", windows.encode("Lpt1.tar.gz"));
+    assertEquals("CONSOLE", windows.encode("CONSOLE"));
+    assertEquals("a.CON", windows.encode("a.CON"));
+    assertEquals("name(DOT)", windows.encode("name."));
+    assertEquals("a(SPACE)(DOT)(SPACE)", windows.encode("a . "));
+    assertEquals("(DOT)(DOT)", windows.encode(".."));
+    assertEquals("a.b", windows.encode("a.b"));
+    assertEquals("_(DOT)_(SPACE)", windows.encode("(DOT)(SPACE)"));
+    assertEquals("CON", windows.decode("_CON"));
+    assertEquals("a . ", windows.decode("a(SPACE)(DOT)(SPACE)"));
+    assertEquals("a.b ", windows.decode("a(DOT)b(SPACE)"));
+    assertEquals("a(NEWLINE)b(BSLASH)", windows.encode("a\nb\\"));
+    assertEquals("(SOH)(HT)(CR)(US)_(BS)", windows.encode("\u0001\t\r\u001f(BS)"));
+    assertEquals("\u0001\t\r\u001f(BS)", windows.decode("(SOH)(HT)(CR)(US)_(BS)"));
+    assertEquals("a\nb", windows.decode("a(NEWLINE)b"));
+    final Random random = new Random(20180711L);
+    for (int n = 0; n < 20000; n++) {
+      final String text = TEXTS.text(random, 1, 6);
+      final String fileName = windows.encode(text);
+      assertEquals(text, windows.decode(fileName));
+      final char last = fileName.charAt(fileName.length() - 1);
+      assertFalse(fileName, last == '.' || last == ' ');
+      assertFalse(fileName, fileName.matches("(?s).*[\u0000-\u001f\\\\*|:\"<>?/].*"));
+      final String stem = fileName.split("\\.", 2)[0];
+      assertFalse(fileName, stem.matches("(?i)CON|PRN|AUX|NUL|COM[1-9]|LPT[1-9]"));
+    }
+  }
+
+  @Test public void testObjectStore() {
+    Logger.getGlobal().info("objectStore");
+    final Dialect store = Dialect.OBJECT_STORE;
+    assertEquals("a(HASH)b(PERCENT)20(LBRACE)(RBRACE)", store.encode("a#b%20{}"));
+    assertEquals("_(HASH)", store.encode("(HASH)"));
+    assertEquals("a#b%20{}", store.decode("a(HASH)b(PERCENT)20(LBRACE)(RBRACE)"));
+    final Random random = new Random(20180712L);
+    for (int n = 0; n < 20000; n++) {
+      final String text = TEXTS.text(random, 1, 6);
+      final String fileName = store.encode(text);
+      assertEquals(text, store.decode(fileName));
+      // the new line is represented by the back slash
+      assertFalse(fileName, fileName.matches("(?s).*[#%&+\\[\\]{}^`~*|:\"<>?/\n].*"));
+    }
+  }
+
+  @Test public void testIncremental()
+      throws Exception {
+    Logger.getGlobal().info("incremental");
+    final Random random = new Random(20180713L);
+    for (int n = 0; n < 5000; n++) {
+      final String fileName = Dialect.OBJECT_STORE.encode(TEXTS.text(random, 1, 6));
+      final StringBuilder text = new StringBuilder();
+      int done = 0;
+      for (int end = 0; end <= fileName.length(); end += 1 + random.nextInt(4)) {
+        done = FileNameDecoder.decode(
+            Dialect.OBJECT_STORE, fileName, done, end, false, text);
+      }
+      FileNameDecoder.decode(
+          Dialect.OBJECT_STORE, fileName, done, fileName.length(), true, text);
+      assertEquals(Dialect.OBJECT_STORE.decode(fileName), text.toString());
+    }
+  }
+
+  @Test public void testInvalidTables() {
+    Logger.getGlobal().info("invalidTables");
+    final Dialect base = Dialect.DEFAULT;
+    assertInvalid(() -> base.withReplacement('_', "(US)"));
+    assertInvalid(() -> base.withReplacement('\u042f', "(YA)"));
+    assertInvalid(() -> base.withReplacement('#', "(STAR)"));
+    assertInvalid(() -> base.withReplacement('#', "(H_SH)"));
+    assertInvalid(() -> base.withReplacement('#', ""));
+    assertInvalid(() -> base.withTrailing('*', "(TSTAR)"));
+    assertInvalid(() -> base.withTrailing('.', "(DOT."));
+    assertInvalid(() -> base.withReservedNames("A.B"));
+    assertInvalid(() -> base.withReservedNames("(A)"));
+    assertTrue(base.withReservedNames("A").encode("a").startsWith("_"));
+  }
+
+  private static void assertInvalid(final Runnable creation) {
+    try {
+      creation.run();
+      throw new AssertionError("the table must be rejected");
+    } catch (final IllegalArgumentException e) {
+      Logger.getGlobal().fine(e.getMessage());
+    }
+  }
+}
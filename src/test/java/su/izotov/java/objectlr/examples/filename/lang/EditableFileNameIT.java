@@ -0,0 +1,97 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.util.Random;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.examples.filename.RandomTexts;
+
+/**
+ * the file name of the edited text must be the same, as the file name of the whole text
+ * @author Vladimir Izotov
+ */
+public class EditableFileNameIT {
+  private static final RandomTexts TEXTS = new RandomTexts(
+      "_", "__", "(STAR)", "(STA", "R)", "(", ")", "(PIPE)", "PIPE)", "(SLASH)", "(HASH)",
+      "*", "\\", "\n", "a", "bc", "\u042f", "#", "~");
+
+  private static void assertEdits(final Dialect dialect, final long seed) {
+    final Random random = new Random(seed);
+    for (int n = 0; n < 300; n++) {
+      final StringBuilder expected = new StringBuilder(TEXTS.text(random, 0, 2));
+      final EditableFileName name = new EditableFileName(dialect, expected.toString());
+      for (int edit = 0; edit < 50; edit++) {
+        final int from = random.nextInt(expected.length() + 1);
+        final int to = from + random.nextInt(Math.min(expected.length() - from, 8) + 1);
+        final String replacement = TEXTS.text(random, 0, 2);
+        expected.replace(from, to, replacement);
+        name.replace(from, to, replacement);
+        assertEquals(expected.toString(), name.toTextRepresentation());
+        assertEquals(
+            expected.toString(), FileNameEncoder.encode(dialect, expected.toString()),
+            name.toStringRepresentation());
+        assertEquals(
+            name.toStringRepresentation().length(), name.fileNamePosition(name.length()));
+      }
+    }
+  }
+
+  @Test public void testRandomEdits() {
+    Logger.getGlobal().info("randomEdits");
+    assertEdits(Dialect.DEFAULT, 20180720L);
+    assertEdits(Dialect.OBJECT_STORE, 20180721L);
+  }
+
+  @Test public void testKnownEdits() {
+    Logger.getGlobal().info("knownEdits");
+    final EditableFileName name = new EditableFileName("(STA)");
+    assertEquals("(STA)", name.toStringRepresentation());
+    name.insert(4, "R");
+    assertEquals("_(STAR)", name.toStringRepresentation());
+    name.insert(0, "*_");
+    assertEquals("(STAR)___(STAR)", name.toStringRepresentation());
+    assertEquals(8, name.fileNamePosition(2));
+    name.delete(5, 6);
+    assertEquals("(STAR)__(STR)", name.toStringRepresentation());
+    name.replace(0, name.length(), "a");
+    assertEquals("a", name.toStringRepresentation());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNamedDialect() {
+    new EditableFileName(Dialect.WINDOWS, "name");
+  }
+
+  /**
+   * typing at the middle of a long name must not convert the whole name
+   */
+  @Test public void testEditCost() {
+    Logger.getGlobal().info("editCost");
+    final StringBuilder text = new StringBuilder();
+    final Random random = new Random(20180722L);
+    while (text.length() < 1 << 20) {
+      text.append(TEXTS.piece(random));
+    }
+    final EditableFileName name = new EditableFileName(text.toString());
+    final String typed = "typed (STAR) * _ text ";
+    long full = Long.MAX_VALUE;
+    long edits = Long.MAX_VALUE;
+    for (int run = 0; run < 5; run++) {
+      final long start = System.nanoTime();
+      FileNameEncoder.encode(text.toString());
+      full = Math.min(full, System.nanoTime() - start);
+      final int cursor = text.length() / 2 + run * typed.length();
+      final long begin = System.nanoTime();
+      for (int i = 0; i < typed.length(); i++) {
+        name.insert(cursor + i, typed.substring(i, i + 1));
+      }
+      edits = Math.min(edits, (System.nanoTime() - begin) / typed.length());
+      text.insert(cursor, typed);
+    }
+    assertEquals(FileNameEncoder.encode(text.toString()), name.toStringRepresentation());
+    Logger.getGlobal().info(
+        String.format("whole name: %d us, one keystroke: %d ns", full / 1000, edits));
+    assertTrue(edits * 100 < full);
+  }
+}
@@ -0,0 +1,87 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * conversions into the buffers of the caller must give the same result, as the conversions
+ * of strings, and allocate nothing
+ * @author Vladimir Izotov
+ */
+public class FileNameBuffersIT {
+  private static final String[] TEXTS = {
+      "simple.FileName", "star*pipe|bslash\\.slash/colon:", "_(STAR)_\n",
+      "\u0438\u043c\u044f \u6587\u4ef6?", "\ud83d\ude00/\ud83d\ude00", "broken\ud83d",
+      "\udc00broken"};
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private static byte[] bytes(final ByteBuffer buffer) {
+    buffer.flip();
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    buffer.clear();
+    return bytes;
+  }
+
+  @Test public void testSameResults() {
+    Logger.getGlobal().info("sameResults");
+    final CharBuffer chars = CharBuffer.allocate(256);
+    final ByteBuffer bytes = ByteBuffer.allocate(1024);
+    for (final String text : TEXTS) {
+      final String fileName = FileNameEncoder.encode(text);
+      FileNameEncoder.encode(text, chars);
+      chars.flip();
+      assertEquals(fileName, chars.toString());
+      chars.clear();
+      FileNameEncoder.encode(text, bytes);
+      assertArrayEquals(fileName.getBytes(StandardCharsets.UTF_8), bytes(bytes));
+      assertTrue(FileNameDecoder.decode(fileName, chars));
+      chars.flip();
+      assertEquals(text, chars.toString());
+      chars.clear();
+      assertTrue(FileNameDecoder.decode(fileName, bytes));
+      assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), bytes(bytes));
+    }
+  }
+
+  @Test public void testNoAllocation() {
+    Logger.getGlobal().info("noAllocation");
+    final CharBuffer chars = CharBuffer.allocate(256);
+    final ByteBuffer bytes = ByteBuffer.allocateDirect(1024);
+    final StringBuilder builder = new StringBuilder(256);
+    final String[] fileNames = new String[TEXTS.length];
+    for (int i = 0; i < TEXTS.length; i++) {
+      fileNames[i] = FileNameEncoder.encode(TEXTS[i]);
+    }
+    final long thread = Thread.currentThread().getId();
+    long allocated = 0L;
+    for (int run = 0; run < 20; run++) {
+      final long start = THREADS.getThreadAllocatedBytes(thread);
+      for (int n = 0; n < 1000; n++) {
+        final int i = n % TEXTS.length;
+        FileNameEncoder.encode(TEXTS[i], chars);
+        chars.clear();
+        FileNameEncoder.encode(TEXTS[i], bytes);
+        bytes.clear();
+        FileNameDecoder.decode(fileNames[i], chars);
+        chars.clear();
+        FileNameDecoder.decode(fileNames[i], bytes);
+        bytes.clear();
+        FileNameDecoder.decode(fileNames[i], 0, fileNames[i].length(), true, builder);
+        builder.setLength(0);
+      }
+      allocated = THREADS.getThreadAllocatedBytes(thread) - start;
+    }
+    Logger.getGlobal().info("allocated after warm up: " + allocated + " bytes per 5000 ops");
+    // the measurement itself may allocate a few bytes
+    assertTrue(String.valueOf(allocated), allocated < 256);
+  }
+}
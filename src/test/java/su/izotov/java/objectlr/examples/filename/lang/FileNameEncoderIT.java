@@ -0,0 +1,78 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.util.Random;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+import su.izotov.java.objectlr.examples.filename.RandomTexts;
+
+/**
+ * compares the single pass encoder with the former chain of replacements
+ * @author Vladimir Izotov
+ */
+public class FileNameEncoderIT {
+  private static final RandomTexts TEXTS = new RandomTexts(
+      "_", "__", "(", ")", "*", "|", "\\", ":", "\"", "<", ">", "?", "/", "\n", "(STAR)",
+      "(PIPE)", "(BSLASH)", "(COLON)", "(QUOT)", "(LANGLE)", "(RANGLE)", "(QUESTION)",
+      "(SLASH)", "(STAR", "STAR)", "(SLA", "((", "a", "b", ".", " ", "\u042f", "\u00e9",
+      "\ud83d\ude00");
+
+  /**
+   * the implementation of TextFileName.toStringRepresentation() before single pass
+   * encoding
+   */
+  private static String reference(final String text) {
+    String str = text;
+    str = str.replace("_", "__");
+    str = str.replace("(STAR)", "_(STAR)");
+    str = str.replace("(PIPE)", "_(PIPE)");
+    str = str.replace("(BSLASH)", "_(BSLASH)");
+    str = str.replace("(COLON)", "_(COLON)");
+    str = str.replace("(QUOT)", "_(QUOT)");
+    str = str.replace("(LANGLE)", "_(LANGLE)");
+    str = str.replace("(RANGLE)", "_(RANGLE)");
+    str = str.replace("(QUESTION)", "_(QUESTION)");
+    str = str.replace("(SLASH)", "_(SLASH)");
+    str = str.replace("*", "(STAR)");
+    str = str.replace("|", "(PIPE)");
+    str = str.replace("\\", "(BSLASH)");
+    str = str.replace(":", "(COLON)");
+    str = str.replace("\"", "(QUOT)");
+    str = str.replace("<", "(LANGLE)");
+    str = str.replace(">", "(RANGLE)");
+    str = str.replace("?", "(QUESTION)");
+    str = str.replace("/", "(SLASH)");
+    str = str.replace("\n", "\\");
+    return str;
+  }
+
+  @Test public void testAdversarial() {
+    Logger.getGlobal().info("adversarial");
+    final String[] texts = {
+        "", "_", "(", "(STAR)", "((STAR))", "(STAR)(STAR)", "_(STAR)", "(STAR", "(STA(STAR)",
+        "(SLASH)/", "*(STAR)*", "\\(BSLASH)\n", "(QUESTION)?(QUOT)\"", "__(PIPE)|_",
+        "(COLON(COLON)", "(LANGLE)(RANGLE)<>", "text with symbols *_| and (LANGLE) plus _",
+        "\ud83d\ude00(STAR)\ud83d\ude00"};
+    for (final String text : texts) {
+      assertEquals(text, reference(text), FileNameEncoder.encode(text));
+    }
+  }
+
+  @Test public void testRandom() {
+    Logger.getGlobal().info("random");
+    final Random random = new Random(20180608L);
+    for (int n = 0; n < 20000; n++) {
+      final StringBuilder text = new StringBuilder();
+      final int pieces = random.nextInt(12);
+      for (int i = 0; i < pieces; i++) {
+        if (random.nextInt(4) == 0) {
+          text.append((char) random.nextInt(0x3000));
+        } else {
+          text.append(TEXTS.piece(random));
+        }
+      }
+      final String string = text.toString();
+      assertEquals(string, reference(string), FileNameEncoder.encode(string));
+    }
+  }
+}
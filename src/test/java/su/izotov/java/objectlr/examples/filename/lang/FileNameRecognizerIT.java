@@ -0,0 +1,119 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.Sense;
+import su.izotov.java.objectlr.examples.filename.RandomTexts;
+import su.izotov.java.objectlr.examples.filename.RecognizedFileName;
+import su.izotov.java.objectlr.examples.filename.lang.token.UnderScore;
+
+/**
+ * the table of rules must call the same concat methods, which are found by reflection, and
+ * the recognizer must restore the same texts, which the language library restores
+ * @author Vladimir Izotov
+ */
+public class FileNameRecognizerIT {
+  private static final RandomTexts TEXTS = new RandomTexts(
+      "_", "__", "(STAR)", "(STA", "(PIPE)", "(QUOT)", "\\", "a", "b.txt", "(", ")", " ",
+      "\u042f");
+
+  /**
+   * @return the senses of the kind
+   */
+  private static List<Sense> senses(final int kind) {
+    final List<Sense> senses = new ArrayList<>();
+    switch (kind) {
+      case FileNameRecognizer.LANGUAGE:
+        senses.add(new FNLang());
+        break;
+      case FileNameRecognizer.UNDERSCORE:
+        senses.add(new UnderScore());
+        break;
+      case FileNameRecognizer.TOKEN:
+        for (int i = 0; i < FileNameTokens.SOURCES.length; i++) {
+          senses.add(FileNameTokens.token(i));
+        }
+        break;
+      default:
+        senses.add(new TextFileName("text"));
+    }
+    return senses;
+  }
+
+  /**
+   * @return the most specific concat method of the left sense, which accepts the right one,
+   * or null
+   */
+  private static Method concat(final Sense left, final Sense right) {
+    Method result = null;
+    for (final Method method : left.getClass().getMethods()) {
+      if (method.getName().equals("concat") && method.getParameterCount() == 1
+          && method.getParameterTypes()[0].isInstance(right)
+          && (result == null
+              || result.getParameterTypes()[0].isAssignableFrom(method.getParameterTypes()[0]))) {
+        result = method;
+      }
+    }
+    return result;
+  }
+
+  @Test public void testTable()
+      throws ReflectiveOperationException, RecognitionException {
+    Logger.getGlobal().info("table");
+    for (int left = 0; left < FileNameRecognizer.RULES.length; left++) {
+      for (int right = 0; right < FileNameRecognizer.RULES[left].length; right++) {
+        final int rule = FileNameRecognizer.RULES[left][right];
+        for (final Sense leftSense : senses(left)) {
+          for (final Sense rightSense : senses(right)) {
+            final String pair = leftSense.toSource() + " " + rightSense.toSource();
+            final Method method = concat(leftSense, rightSense);
+            if (rule == FileNameRecognizer.SHIFT) {
+              assertNull(pair, method);
+              continue;
+            }
+            final Object expected;
+            try {
+              expected = method.invoke(leftSense, rightSense);
+            } catch (final InvocationTargetException e) {
+              throw new AssertionError(pair, e.getCause());
+            }
+            final Sense actual = FileNameRecognizer.reduce(rule, leftSense, rightSense);
+            assertTrue(pair, actual instanceof TextFileName);
+            assertEquals(pair, ((TextFileName) expected).toTextRepresentation(),
+                         ((TextFileName) actual).toTextRepresentation());
+          }
+        }
+      }
+    }
+  }
+
+  @Test public void testSameAsLanguage() {
+    Logger.getGlobal().info("sameAsLanguage");
+    final Random random = new Random(20180905L);
+    for (int i = 0; i < 20000; i++) {
+      final String fileName = TEXTS.text(random, 0, 5);
+      String expected;
+      try {
+        expected = new RecognizedFileName(fileName).toTextRepresentation();
+      } catch (final RecognitionException | RuntimeException e) {
+        expected = null;
+      }
+      try {
+        final String actual = FileNameRecognizer.recognize(fileName).toTextRepresentation();
+        assertEquals(fileName, expected, actual);
+      } catch (final RecognitionException e) {
+        assertNull(fileName, expected);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,98 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.util.Random;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+import su.izotov.java.objectlr.examples.filename.RandomTexts;
+
+/**
+ * the name is valid, if and only if the encoder makes it from the restored text or it is the
+ * marked dot segment of the path
+ * @author Vladimir Izotov
+ */
+public class FileNameValidationIT {
+  private static final RandomTexts TEXTS = new RandomTexts(
+      "_", "__", "(STAR)", "(STA", "(DOT)", "(SPACE)", "(HASH)", "CON", "con", "NUL", ".",
+      " ", "a", "*", "\\", "\n", "#", "(", ")", "\u042f");
+
+  private static void assertError(
+      final Dialect dialect, final String fileName, final DecodeResult.Error error,
+      final int position) {
+    final DecodeResult result = FileNameDecoder.tryDecode(dialect, fileName);
+    assertFalse(fileName, result.valid());
+    assertNull(result.text());
+    assertEquals(fileName, error, result.error());
+    assertEquals(fileName, position, result.errorPosition());
+    assertFalse(fileName, FileNameDecoder.isValidEncoded(dialect, fileName));
+  }
+
+  @Test public void testErrors() {
+    Logger.getGlobal().info("errors");
+    final Dialect def = Dialect.DEFAULT;
+    assertError(def, "", DecodeResult.Error.EMPTY, 0);
+    assertError(def, "name_", DecodeResult.Error.DANGLING_ESCAPE, 4);
+    assertError(def, "a*b", DecodeResult.Error.FORBIDDEN_CHARACTER, 1);
+    assertError(def, "a_b", DecodeResult.Error.UNEXPECTED_ESCAPE, 1);
+    assertError(def, "_a", DecodeResult.Error.UNEXPECTED_ESCAPE, 0);
+    assertError(def, "a_\\", DecodeResult.Error.UNEXPECTED_ESCAPE, 1);
+    final Dialect windows = Dialect.WINDOWS;
+    assertError(windows, "CON.txt", DecodeResult.Error.RESERVED_NAME, 0);
+    assertError(windows, "_CONSOLE", DecodeResult.Error.UNEXPECTED_ESCAPE, 0);
+    assertError(windows, "a(DOT)b", DecodeResult.Error.MISPLACED_TOKEN, 1);
+    assertError(windows, "a.", DecodeResult.Error.FORBIDDEN_CHARACTER, 1);
+    assertError(windows, "a .(DOT)", DecodeResult.Error.FORBIDDEN_CHARACTER, 1);
+    assertError(Dialect.OBJECT_STORE, "a#", DecodeResult.Error.FORBIDDEN_CHARACTER, 1);
+  }
+
+  @Test public void testValid() {
+    Logger.getGlobal().info("valid");
+    assertEquals("a*_(STAR)\n", FileNameDecoder.tryDecode("a(STAR)___(STAR)\\").text());
+    assertEquals("CON. ", FileNameDecoder.tryDecode(Dialect.WINDOWS, "_CON(DOT)(SPACE)").text());
+    assertTrue(FileNameDecoder.isValidEncoded("report 2018.txt"));
+  }
+
+  @Test public void testStackless() {
+    Logger.getGlobal().info("stackless");
+    try {
+      FileNameDecoder.tryDecode("name_").textOrThrow();
+      fail();
+    } catch (final InvalidFileNameException e) {
+      assertEquals(0, e.getStackTrace().length);
+      assertEquals(DecodeResult.Error.DANGLING_ESCAPE, e.error());
+      assertEquals(4, e.position());
+    }
+  }
+
+  /**
+   * the validation is the same, as the comparison of the name with the encoded text
+   */
+  @Test public void testCanonical() {
+    Logger.getGlobal().info("canonical");
+    final Random random = new Random(20180730L);
+    for (final Dialect dialect : new Dialect[] {
+        Dialect.DEFAULT, Dialect.WINDOWS, Dialect.OBJECT_STORE}) {
+      int valid = 0;
+      for (int n = 0; n < 50000; n++) {
+        final String fileName = TEXTS.text(random, 0, 5);
+        final String text = FileNameDecoder.decode(dialect, fileName);
+        // the dot segments of the path are marked, as PathCodec writes them
+        final boolean canonical = text != null && (fileName.equals(dialect.encode(text))
+                                                   || "_.".equals(fileName)
+                                                   || "_..".equals(fileName));
+        final DecodeResult result = FileNameDecoder.tryDecode(dialect, fileName);
+        assertEquals(fileName + " " + result, canonical, result.valid());
+        assertEquals(fileName, canonical, FileNameDecoder.isValidEncoded(dialect, fileName));
+        if (canonical) {
+          assertEquals(text, result.text());
+          valid++;
+        }
+      }
+      Logger.getGlobal().info(valid + " valid names of 50000");
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.FileName;
+import su.izotov.java.objectlr.examples.filename.RandomTexts;
+import su.izotov.java.objectlr.examples.filename.StringFileName;
+
+/**
+ * the names must be equal, hashed and ordered as their texts, without the recognition of file
+ * names
+ * @author Vladimir Izotov
+ */
+public class FileNameValuesIT {
+  private static final RandomTexts TEXTS = new RandomTexts(
+      "_", "__", "___", "\\", "(", ")", "(STAR)", "(PIPE)", "(BSLASH)", "(COLON)", "(QUOT)",
+      "(STAR", "SLASH)", "a", "bc", ".", " ", "*", "\u042f", "\ud83d\ude00");
+
+  /**
+   * the name, which must not be recognized
+   */
+  private static final class Unrecognized
+      extends StringFileName {
+    Unrecognized(final String fileName) {
+      super(fileName);
+    }
+
+    @Override protected TextFileName recognize() {
+      throw new AssertionError("The name is recognized: " + this.toStringRepresentation());
+    }
+  }
+
+  @Test public void testSameAsText() {
+    Logger.getGlobal().info("sameAsText");
+    final Random random = new Random(20180915L);
+    for (int n = 0; n < 50000; n++) {
+      final String left = TEXTS.text(random, 0, 5);
+      final String right =
+          random.nextBoolean() ? TEXTS.text(random, 0, 5) : left + TEXTS.text(random, 0, 5);
+      final String leftText = FileNameDecoder.decode(left);
+      final String rightText = FileNameDecoder.decode(right);
+      final FileName leftName = new Unrecognized(left);
+      final FileName rightName = new Unrecognized(right);
+      final String pair = left + " " + right;
+      assertEquals(pair, leftText != null, FileNameValues.decodable(left));
+      if (leftText == null) {
+        assertEquals(pair, left.hashCode(), leftName.hashCode());
+        continue;
+      }
+      assertEquals(pair, leftText.hashCode(), leftName.hashCode());
+      assertEquals(pair, leftName, new TextFileName(leftText));
+      assertEquals(pair, new TextFileName(leftText), leftName);
+      if (rightText == null) {
+        assertTrue(pair, leftName.compareTo(rightName) < 0);
+        assertTrue(pair, rightName.compareTo(leftName) > 0);
+        continue;
+      }
+      final int expected = Integer.signum(leftText.compareTo(rightText));
+      assertEquals(pair, expected, Integer.signum(leftName.compareTo(rightName)));
+      assertEquals(pair, expected,
+                   Integer.signum(leftName.compareTo(new TextFileName(rightText))));
+      assertEquals(pair, expected,
+                   Integer.signum(new TextFileName(leftText).compareTo(rightName)));
+      assertEquals(pair, expected == 0, leftName.equals(rightName));
+    }
+  }
+
+  @Test public void testKeys() {
+    Logger.getGlobal().info("keys");
+    final Map<FileName, Integer> map = new HashMap<>();
+    map.put(new Unrecognized("a(STAR)b"), 1);
+    map.put(new TextFileName("a_b"), 2);
+    assertEquals(Integer.valueOf(1), map.get(new TextFileName("a*b")));
+    assertEquals(Integer.valueOf(1), map.get(new Unrecognized("_a(STAR)b")));
+    assertEquals(Integer.valueOf(2), map.get(new Unrecognized("a__b")));
+    final Set<FileName> names = new HashSet<>();
+    names.add(new Unrecognized("name_"));
+    names.add(new Unrecognized("name_"));
+    names.add(new Unrecognized("name__"));
+    names.add(new TextFileName("name_"));
+    names.add(new TextFileName("name").concat(new TextFileName("_")));
+    assertEquals(2, names.size());
+    assertNotEquals(new TextFileName("*"), "*");
+    assertNotEquals(new Unrecognized(""), new TextFileName(""));
+  }
+
+  @Test public void testNullText() {
+    Logger.getGlobal().info("nullText");
+    final TextFileName empty = new TextFileName(null);
+    assertEquals(0, empty.hashCode());
+    assertEquals(empty, new TextFileName(null));
+    assertNotEquals(empty, new TextFileName(""));
+    assertNotEquals(new Unrecognized("a"), empty);
+    final List<FileName> names = new ArrayList<>();
+    names.add(new Unrecognized("b_"));
+    names.add(new TextFileName("a"));
+    names.add(new Unrecognized("a"));
+    names.add(empty);
+    names.add(new TextFileName(""));
+    Collections.sort(names);
+    assertEquals(empty, names.get(0));
+    assertEquals(new TextFileName(""), names.get(1));
+    assertEquals(new Unrecognized("b_"), names.get(4));
+  }
+
+  @Test public void testSorting()
+      throws RecognitionException {
+    Logger.getGlobal().info("sorting");
+    final Random random = new Random(20180916L);
+    final List<FileName> names = new ArrayList<>();
+    final List<String> texts = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      final String fileName = TEXTS.text(random, 0, 5);
+      final String text = FileNameDecoder.decode(fileName);
+      if (text != null) {
+        texts.add(text);
+        names.add(random.nextBoolean() ? new Unrecognized(fileName) : new TextFileName(text));
+      }
+    }
+    Collections.sort(names);
+    Collections.sort(texts);
+    for (int i = 0; i < texts.size(); i++) {
+      final FileName name = names.get(i);
+      assertEquals(texts.get(i), name instanceof TextFileName
+                                 ? name.toTextRepresentation()
+                                 : FileNameDecoder.decode(name.toStringRepresentation()));
+    }
+  }
+}
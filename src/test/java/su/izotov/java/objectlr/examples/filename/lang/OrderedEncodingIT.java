@@ -0,0 +1,125 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.examples.filename.RandomTexts;
+
+/**
+ * the file names must be ordered as the texts, both as strings and as bytes of UTF-8, and
+ * restore the texts
+ * @author Vladimir Izotov
+ */
+public class OrderedEncodingIT {
+  /**
+   * the replaced characters, their groups, the neighbours of the groups and the characters,
+   * which are ordered differently in UTF-16 and in UTF-8
+   */
+  private static final RandomTexts TEXTS = RandomTexts.characters(
+      "\u0000\t\n\u000b\u000c\u001f !\"#)*+,./01:;<=>?@AZ[\\]_a{|}~\u007f\u00e9\u042f\uff61\ufffd"
+      + "\ud83d\ude00\ud800\udc00");
+
+  private static int compareBytes(final String left, final String right) {
+    final byte[] leftBytes = left.getBytes(StandardCharsets.UTF_8);
+    final byte[] rightBytes = right.getBytes(StandardCharsets.UTF_8);
+    final int length = Math.min(leftBytes.length, rightBytes.length);
+    for (int i = 0; i < length; i++) {
+      final int difference = (leftBytes[i] & 0xff) - (rightBytes[i] & 0xff);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return leftBytes.length - rightBytes.length;
+  }
+
+  private static int compareCodePoints(final String left, final String right) {
+    final int[] leftCodes = left.codePoints().toArray();
+    final int[] rightCodes = right.codePoints().toArray();
+    final int length = Math.min(leftCodes.length, rightCodes.length);
+    for (int i = 0; i < length; i++) {
+      if (leftCodes[i] != rightCodes[i]) {
+        return Integer.compare(leftCodes[i], rightCodes[i]);
+      }
+    }
+    return leftCodes.length - rightCodes.length;
+  }
+
+  @Test public void testOrder() {
+    Logger.getGlobal().info("order");
+    final Random random = new Random(20180910L);
+    for (int n = 0; n < 200000; n++) {
+      final String left = TEXTS.text(random, 0, 7);
+      final String right =
+          random.nextInt(4) == 0 ? left + TEXTS.text(random, 0, 7) : TEXTS.text(random, 0, 7);
+      final String leftName = OrderedEncoding.encode(left);
+      final String rightName = OrderedEncoding.encode(right);
+      final String pair = left + " " + right;
+      assertEquals(pair, Integer.signum(left.compareTo(right)),
+                   Integer.signum(leftName.compareTo(rightName)));
+      assertEquals(pair, Integer.signum(compareCodePoints(left, right)),
+                   Integer.signum(compareBytes(leftName, rightName)));
+    }
+  }
+
+  @Test public void testSortedListing() {
+    Logger.getGlobal().info("sortedListing");
+    final Random random = new Random(20180911L);
+    final String[] texts = new String[5000];
+    final String[] names = new String[texts.length];
+    for (int i = 0; i < texts.length; i++) {
+      texts[i] = TEXTS.text(random, 0, 7);
+      names[i] = OrderedEncoding.encode(texts[i]);
+    }
+    Arrays.sort(texts);
+    Arrays.sort(names);
+    for (int i = 0; i < texts.length; i++) {
+      // the empty name is not a file name
+      assertEquals(texts[i], names[i].isEmpty() ? "" : OrderedEncoding.decode(names[i]));
+    }
+  }
+
+  @Test public void testRoundTrip() {
+    Logger.getGlobal().info("roundTrip");
+    final Random random = new Random(20180912L);
+    for (int n = 0; n < 100000; n++) {
+      final String text = TEXTS.text(random, 0, 7);
+      final String name = OrderedEncoding.encode(text);
+      for (final char c : Dialect.DEFAULT.texts) {
+        assertTrue(name, name.indexOf(c) < 0);
+      }
+      assertTrue(name, OrderedEncoding.encode(text + "x").startsWith(name));
+      if (!text.isEmpty()) {
+        assertEquals(text, OrderedEncoding.decode(name));
+      }
+    }
+    assertEquals("a/b:c?d*", new TextFileName("a/b:c?d*").toTextRepresentation());
+    assertEquals("a00b;0c;5d+0", new TextFileName("a/b:c?d*").toOrderedRepresentation());
+    assertEquals("report!3220118.txt", OrderedEncoding.encode("report 2018.txt"));
+    assertEquals("a!10b!33!11#", OrderedEncoding.encode("a\nb!\u000b#"));
+    assertEquals("a\nb!\"\u0000", OrderedEncoding.decode("a!10b!33!34!00"));
+    assertEquals("", OrderedEncoding.encode(""));
+  }
+
+  @Test public void testErrors() {
+    Logger.getGlobal().info("errors");
+    final String[] names = {"", "a*b", "a;", "a;6", "0", "0x", "}2", "!3", "!35", "!3x"};
+    final DecodeResult.Error[] errors = {
+        DecodeResult.Error.EMPTY, DecodeResult.Error.FORBIDDEN_CHARACTER,
+        DecodeResult.Error.DANGLING_ESCAPE, DecodeResult.Error.UNEXPECTED_ESCAPE,
+        DecodeResult.Error.DANGLING_ESCAPE, DecodeResult.Error.UNEXPECTED_ESCAPE,
+        DecodeResult.Error.UNEXPECTED_ESCAPE, DecodeResult.Error.DANGLING_ESCAPE,
+        DecodeResult.Error.UNEXPECTED_ESCAPE, DecodeResult.Error.UNEXPECTED_ESCAPE};
+    final int[] positions = {0, 1, 1, 1, 0, 0, 0, 0, 0, 0};
+    for (int i = 0; i < names.length; i++) {
+      final DecodeResult result = OrderedEncoding.tryDecode(names[i]);
+      assertEquals(names[i], errors[i], result.error());
+      assertEquals(names[i], positions[i], result.errorPosition());
+      assertNull(names[i], OrderedEncoding.decode(names[i]));
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+/**
+ * the search of special characters must find the same positions, as the simple search,
+ * whichever implementation of the multi-release jar is used
+ * @author Vladimir Izotov
+ */
+public class SpecialScanIT {
+  private static final SpecialChars CHARS = Dialect.DEFAULT.special;
+  private static final String SPECIAL = new String(CHARS.characters());
+  private static final char[] ALPHABET = (SPECIAL + "aZ09 .-)\u0000\u007f\u0080\u042f\uffff"
+      + "\u0128\u015f\u017c\u035f\u105f\ud83d\ude00").toCharArray();
+
+  private static int reference(final CharSequence text, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      if (SPECIAL.indexOf(text.charAt(i)) >= 0) {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  private static String random(final Random random, final int length, final double special) {
+    final char[] text = new char[length];
+    for (int i = 0; i < length; i++) {
+      text[i] = random.nextDouble() < special
+                ? SPECIAL.charAt(random.nextInt(SPECIAL.length()))
+                : ALPHABET[SPECIAL.length() + random.nextInt(ALPHABET.length - SPECIAL.length())];
+    }
+    return new String(text);
+  }
+
+  @Test public void testSpecialCharacters() {
+    Logger.getGlobal().info("specialCharacters");
+    final char[] sorted = SPECIAL.toCharArray();
+    Arrays.sort(sorted);
+    assertEquals("\n\"(*/:<>?\\_|", new String(sorted));
+    for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+      assertEquals(
+          Integer.toHexString(c), SPECIAL.indexOf(c) >= 0, CHARS.special((char) c));
+    }
+  }
+
+  @Test public void testDifferential() {
+    Logger.getGlobal().info("differential " + implementation());
+    final Random random = new Random(20180701L);
+    for (int n = 0; n < 20000; n++) {
+      final int length = random.nextInt(n % 10 == 0 ? 2000 : 100);
+      final String text = random(random, length, random.nextDouble() * 0.05);
+      final int from = length == 0 ? 0 : random.nextInt(length);
+      final int to = from + random.nextInt(length - from + 1);
+      assertEquals(text, reference(text, from, to), SpecialScan.find(CHARS, text, from, to));
+      assertEquals(
+          reference(text, 0, length),
+          SpecialScan.find(CHARS, new StringBuilder(text), 0, length));
+    }
+  }
+
+  @Test public void testEverySpecialPosition() {
+    Logger.getGlobal().info("everySpecialPosition");
+    final Random random = new Random(20180702L);
+    for (int length = 1; length < 300; length++) {
+      final String clean = random(random, length, 0.0);
+      assertEquals(length, SpecialScan.find(CHARS, clean, 0, length));
+      for (int position = 0; position < length; position++) {
+        final char c = SPECIAL.charAt(random.nextInt(SPECIAL.length()));
+        final String text =
+            clean.substring(0, position) + c + clean.substring(position + 1);
+        assertEquals(text, position, SpecialScan.find(CHARS, text, 0, length));
+      }
+    }
+  }
+
+  @Test public void testUnchangedNames() {
+    Logger.getGlobal().info("unchangedNames");
+    final Random random = new Random(20180703L);
+    for (int n = 0; n < 5000; n++) {
+      final String clean = random(random, 1 + random.nextInt(200), 0.0);
+      assertSame(clean, FileNameEncoder.encode(clean));
+      assertSame(clean, FileNameDecoder.decode(clean));
+      final String text = random(random, random.nextInt(200), 0.1);
+      final String encoded = FileNameEncoder.encode(text);
+      assertEquals(text, text.isEmpty() ? "" : FileNameDecoder.decode(encoded));
+    }
+  }
+
+  /**
+   * @return the name of the implementation, which is used in this runtime. The vector API
+   * is not linked without --add-modules jdk.incubator.vector
+   */
+  private static String implementation() {
+    try {
+      Class.forName(SpecialScan.class.getPackage().getName() + ".VectorScan");
+      return "vector " + System.getProperty("java.version");
+    } catch (final ClassNotFoundException | LinkageError e) {
+      return "scalar";
+    }
+  }
+}
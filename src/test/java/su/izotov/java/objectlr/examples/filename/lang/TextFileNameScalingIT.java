@@ -0,0 +1,83 @@
+package su.izotov.java.objectlr.examples.filename.lang;
+
+import java.lang.reflect.Field;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.token.Colon;
+import su.izotov.java.objectlr.examples.filename.lang.token.FileNameToken;
+import su.izotov.java.objectlr.examples.filename.lang.token.Slash;
+
+/**
+ * the concatenations, made by the recognition, must append to the same accumulator, thus
+ * their time grows linearly with the count of tokens
+ * @author Vladimir Izotov
+ */
+public class TextFileNameScalingIT {
+  /**
+   * concatenates senses in the same order, as the recognition does it
+   */
+  private static TextFileName recognized(final int tokens)
+      throws RecognitionException {
+    final FileNameToken slash = new Slash();
+    final FileNameToken colon = new Colon();
+    TextFileName result = new TextFileName("name");
+    for (int i = 0; i < tokens; i++) {
+      result = result.concat(i % 2 == 0 ? slash : colon).concat(new TextFileName("part"));
+    }
+    return result;
+  }
+
+  /**
+   * @return the accumulator of the name or null, if the name has no accumulator
+   */
+  private static StringBuilder accumulator(final TextFileName name)
+      throws ReflectiveOperationException {
+    final Field field = TextFileName.class.getDeclaredField("accumulator");
+    field.setAccessible(true);
+    return (StringBuilder) field.get(name);
+  }
+
+  @Test public void testLinearScaling()
+      throws RecognitionException, ReflectiveOperationException {
+    Logger.getGlobal().info("linearScaling");
+    final FileNameToken slash = new Slash();
+    TextFileName result = new TextFileName("name").concat(slash);
+    final StringBuilder accumulator = accumulator(result);
+    for (int tokens = 1; tokens <= 1 << 16; tokens++) {
+      result = result.concat(new TextFileName("part")).concat(slash);
+      // every concatenation appends to the same accumulator, nothing is copied again
+      assertSame(accumulator, accumulator(result));
+    }
+    // the capacity grows geometrically, thus the appends are amortized O(1)
+    assertTrue(accumulator.capacity() < 4 * accumulator.length());
+    assertEquals(5 + 5 * (1 << 16), result.toTextRepresentation().length());
+    // the name, which has given its text, does not hold the accumulator
+    assertNull(accumulator(result));
+    assertEquals(4 + 5 * (1 << 16), recognized(1 << 16).toTextRepresentation().length());
+  }
+
+  @Test public void testSharedPrefix()
+      throws RecognitionException {
+    Logger.getGlobal().info("sharedPrefix");
+    final TextFileName prefix = new TextFileName("a").concat(new TextFileName("b"));
+    final TextFileName first = prefix.concat(new TextFileName("c"));
+    final TextFileName second = prefix.concat(new TextFileName("d"));
+    assertEquals("ab", prefix.toTextRepresentation());
+    assertEquals("abc", first.toTextRepresentation());
+    assertEquals("abd", second.toTextRepresentation());
+    assertEquals("abcabc", first.concat(first).toTextRepresentation());
+  }
+
+  @Test public void testNullText() {
+    Logger.getGlobal().info("nullText");
+    final TextFileName name = new TextFileName(null);
+    assertNull(name.toTextRepresentation());
+    assertNull(name.toSource());
+    assertEquals("nulla", name.concat(new TextFileName("a")).toTextRepresentation());
+  }
+}
@@ -0,0 +1,122 @@
+package su.izotov.java.objectlr.examples.filename.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Logger;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.After;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.StringFileName;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * the instrumentation counts conversions only when it is turned on
+ * @author Vladimir Izotov
+ */
+public class FileNameMetricsIT {
+  @Before public void setUp() {
+    FileNameMetrics.reset();
+    FileNameMetrics.enable();
+  }
+
+  @After public void tearDown() {
+    FileNameMetrics.disable();
+    FileNameMetrics.reset();
+  }
+
+  @Test public void testCounters()
+      throws RecognitionException {
+    Logger.getGlobal().info("counters");
+    assertEquals("a(STAR)b", new TextFileName("a*b").toStringRepresentation());
+    assertEquals("a*b", new StringFileName("a(STAR)b").toTextRepresentation());
+    assertEquals("(PIPE)", new StringFileName("_(PIPE)").toTextRepresentation());
+    final OperationStatistics encoding = FileNameMetrics.encodingStatistics();
+    assertEquals(1L, encoding.operations());
+    assertEquals(3L, encoding.charactersIn());
+    assertEquals(8L, encoding.charactersOut());
+    assertEquals(1L, encoding.tokens());
+    final OperationStatistics decoding = FileNameMetrics.decodingStatistics();
+    assertEquals(2L, decoding.operations());
+    assertEquals(0L, decoding.failures());
+    assertEquals(15L, decoding.charactersIn());
+    assertEquals(9L, decoding.charactersOut());
+    assertEquals(1.5, decoding.tokensPerName(), 0.0);
+    assertTrue(decoding.p50Nanos() <= decoding.p99Nanos());
+    Logger.getGlobal().info(decoding.toString());
+  }
+
+  @Test public void testRecognizedOnce()
+      throws RecognitionException {
+    Logger.getGlobal().info("recognizedOnce");
+    final StringFileName name = new StringFileName("a(STAR)b");
+    name.toTextRepresentation();
+    name.toTextRepresentation();
+    assertEquals(1L, FileNameMetrics.decodingStatistics().operations());
+  }
+
+  @Test public void testFailures() {
+    Logger.getGlobal().info("failures");
+    final StringFileName name = new StringFileName("broken") {
+      @Override protected TextFileName recognize() {
+        throw new IllegalArgumentException("broken");
+      }
+    };
+    try {
+      name.toTextRepresentation();
+      fail();
+    } catch (final RecognitionException | IllegalArgumentException e) {
+      final OperationStatistics decoding = FileNameMetrics.decodingStatistics();
+      assertEquals(1L, decoding.operations());
+      assertEquals(1L, decoding.failures());
+      assertEquals(6L, decoding.charactersIn());
+    }
+  }
+
+  @Test public void testDisabled()
+      throws RecognitionException {
+    Logger.getGlobal().info("disabled");
+    FileNameMetrics.disable();
+    new TextFileName("a*b").toStringRepresentation();
+    new StringFileName("a(STAR)b").toTextRepresentation();
+    assertEquals(0L, FileNameMetrics.encodingStatistics().operations());
+    assertEquals(0L, FileNameMetrics.decodingStatistics().operations());
+  }
+
+  @Test public void testHistogram() {
+    Logger.getGlobal().info("histogram");
+    final LatencyHistogram histogram = new LatencyHistogram();
+    assertEquals(0L, histogram.percentile(0.5));
+    for (long nanos = 1L; nanos <= 1000L; nanos++) {
+      histogram.record(nanos * 1000L);
+    }
+    final long p50 = histogram.percentile(0.5);
+    final long p99 = histogram.percentile(0.99);
+    assertTrue(String.valueOf(p50), p50 >= 500000L && p50 < 500000L * 9 / 8);
+    assertTrue(String.valueOf(p99), p99 >= 990000L && p99 < 990000L * 9 / 8);
+    // the last bucket ends at Long.MAX_VALUE
+    final int last = LatencyHistogram.index(Long.MAX_VALUE);
+    for (int index = 0; index < last; index++) {
+      assertEquals(index, LatencyHistogram.index(LatencyHistogram.upper(index)));
+      assertEquals(index + 1, LatencyHistogram.index(LatencyHistogram.upper(index) + 1L));
+    }
+  }
+
+  @Test public void testMBean()
+      throws Exception {
+    Logger.getGlobal().info("mBean");
+    FileNameMetrics.register();
+    FileNameMetrics.register();
+    new TextFileName("a|b").toStringRepresentation();
+    final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    final ObjectName name = new ObjectName(FileNameMetrics.OBJECT_NAME);
+    assertEquals(1L, server.getAttribute(name, "EncodeOperations"));
+    assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+    server.invoke(name, "reset", new Object[0], new String[0]);
+    assertEquals(0L, server.getAttribute(name, "EncodeOperations"));
+  }
+}
@@ -0,0 +1,88 @@
+package su.izotov.java.objectlr.examples.filename.path;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * @author Vladimir Izotov
+ */
+public class DecodingDirectoryStreamIT {
+  private static final int FILES = 2000;
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * @return sorted texts of created files
+   */
+  private List<String> files()
+      throws IOException {
+    final List<String> texts = new ArrayList<>(FILES);
+    for (int i = 0; i < FILES; i++) {
+      final String text =
+          String.format("report %04d: %s?", i, i % 3 == 0 ? "draft" : "final");
+      Files.createFile(this.folder.getRoot().toPath()
+          .resolve(new TextFileName(text).toStringRepresentation()));
+      texts.add(text);
+    }
+    Collections.sort(texts);
+    return texts;
+  }
+
+  private static List<String> texts(final DecodingDirectoryStream stream)
+      throws IOException, RecognitionException {
+    final List<String> texts = new ArrayList<>();
+    try (DecodingDirectoryStream entries = stream) {
+      for (final DirectoryEntry entry : entries) {
+        assertEquals(entry.path().getFileName().toString(), entry.toStringRepresentation());
+        texts.add(entry.toTextRepresentation());
+      }
+    }
+    Collections.sort(texts);
+    return texts;
+  }
+
+  @Test public void testAllEntries()
+      throws IOException, RecognitionException {
+    Logger.getGlobal().info("allEntries");
+    final List<String> expected = this.files();
+    final Path root = this.folder.getRoot().toPath();
+    assertEquals(expected, texts(DecodingDirectoryStream.open(root)));
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      assertEquals(
+          expected, texts(DecodingDirectoryStream.open(root).parallel(executor, 64)));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test public void testFilter()
+      throws IOException, RecognitionException {
+    Logger.getGlobal().info("filter");
+    final List<String> drafts = this.files().stream()
+        .filter(text -> text.endsWith("draft?"))
+        .collect(Collectors.toList());
+    final Path root = this.folder.getRoot().toPath();
+    assertEquals(drafts, texts(DecodingDirectoryStream.open(root, "report *: draft\\?")));
+    assertEquals(drafts, texts(DecodingDirectoryStream.open(root, "*{draft}?")));
+    assertEquals(
+        drafts, texts(DecodingDirectoryStream.open(root, text -> text.contains("draft"))));
+    try (DecodingDirectoryStream stream =
+             DecodingDirectoryStream.open(root, "report 00[0-4]*")) {
+      assertEquals(50L, stream.stream().count());
+    }
+  }
+}
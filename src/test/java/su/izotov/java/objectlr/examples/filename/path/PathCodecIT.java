@@ -0,0 +1,143 @@
+package su.izotov.java.objectlr.examples.filename.path;
+
+import java.io.IOException;
+import java.nio.file.FileStore;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.UserPrincipalLookupService;
+import java.nio.file.spi.FileSystemProvider;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.cache.FileNameCache;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameDecoder;
+
+/**
+ * @author Vladimir Izotov
+ */
+public class PathCodecIT {
+  @Test public void testRoundTrip()
+      throws RecognitionException {
+    Logger.getGlobal().info("roundTrip");
+    final PathCodec codec = new PathCodec();
+    final List<String> texts = Arrays.asList("a/b", "c:d", "..", ".", "_", "e\nf");
+    final Path path = codec.encode(texts);
+    assertEquals(
+        Paths.get("a(SLASH)b", "c(COLON)d", "_..", "_.", "__", "e\\f"), path);
+    assertEquals(texts, codec.decode(path));
+    final Path base = Paths.get("base").toAbsolutePath();
+    assertEquals(texts, codec.decode(base, codec.encode(base, texts)));
+  }
+
+  @Test public void testValidSegments()
+      throws RecognitionException {
+    Logger.getGlobal().info("validSegments");
+    final PathCodec codec = new PathCodec();
+    final List<String> texts = Arrays.asList("..", ".", "a/b", "_", "...", "._", "e\nf");
+    final Path path = codec.encode(texts);
+    for (int i = 0; i < path.getNameCount(); i++) {
+      final String segment = path.getName(i).toString();
+      assertTrue(segment, FileNameDecoder.isValidEncoded(segment));
+      assertEquals(segment, texts.get(i), FileNameDecoder.tryDecode(segment).text());
+    }
+    assertEquals(texts, codec.decode(path));
+  }
+
+  @Test public void testSharedParents()
+      throws RecognitionException {
+    Logger.getGlobal().info("sharedParents");
+    final FileNameCache segments = FileNameCache.withMaxEntries(1000);
+    final PathCodec codec = new PathCodec(FileSystems.getDefault(), segments);
+    for (int i = 0; i < 100; i++) {
+      codec.encode(Arrays.asList("projects?", "2018*", "file" + i));
+    }
+    // two parents are encoded once, every file name once
+    assertEquals(102L, segments.encoding().misses());
+    assertEquals(198L, segments.encoding().hits());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEmptySegment() {
+    Logger.getGlobal().info("emptySegment");
+    new PathCodec().encode(Arrays.asList("a", ""));
+  }
+
+  @Test public void testSeparator() {
+    Logger.getGlobal().info("separator");
+    final PathCodec codec =
+        new PathCodec(new BackSlashed(), FileNameCache.withMaxEntries(10));
+    assertEquals(Paths.get("a(BSLASH)b", "c"), codec.encode(Arrays.asList("a\\b", "c")));
+    try {
+      codec.encode(Arrays.asList("a", "b\nc"));
+      throw new AssertionError("the segment must be rejected");
+    } catch (final IllegalArgumentException e) {
+      assertTrue(e.getMessage(), e.getMessage().endsWith("b\\c"));
+    }
+  }
+
+  /**
+   * the default file system with the separator of Windows
+   */
+  private static final class BackSlashed
+      extends FileSystem {
+    private final FileSystem origin = FileSystems.getDefault();
+
+    @Override public String getSeparator() {
+      return "\\";
+    }
+
+    @Override public Path getPath(final String first, final String... more) {
+      return this.origin.getPath(first, more);
+    }
+
+    @Override public FileSystemProvider provider() {
+      return this.origin.provider();
+    }
+
+    @Override public void close() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override public boolean isOpen() {
+      return true;
+    }
+
+    @Override public boolean isReadOnly() {
+      return this.origin.isReadOnly();
+    }
+
+    @Override public Iterable<Path> getRootDirectories() {
+      return this.origin.getRootDirectories();
+    }
+
+    @Override public Iterable<FileStore> getFileStores() {
+      return this.origin.getFileStores();
+    }
+
+    @Override public Set<String> supportedFileAttributeViews() {
+      return this.origin.supportedFileAttributeViews();
+    }
+
+    @Override public PathMatcher getPathMatcher(final String syntaxAndPattern) {
+      return this.origin.getPathMatcher(syntaxAndPattern);
+    }
+
+    @Override public UserPrincipalLookupService getUserPrincipalLookupService() {
+      return this.origin.getUserPrincipalLookupService();
+    }
+
+    @Override public WatchService newWatchService()
+        throws IOException {
+      return this.origin.newWatchService();
+    }
+  }
+}
@@ -0,0 +1,209 @@
+package su.izotov.java.objectlr.examples.filename.store;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+import su.izotov.java.objectlr.RecognitionException;
+import su.izotov.java.objectlr.examples.filename.FileName;
+import su.izotov.java.objectlr.examples.filename.StringFileName;
+import su.izotov.java.objectlr.examples.filename.lang.DecodeResult;
+import su.izotov.java.objectlr.examples.filename.lang.Dialect;
+import su.izotov.java.objectlr.examples.filename.lang.FileNameEncoder;
+import su.izotov.java.objectlr.examples.filename.lang.InvalidFileNameException;
+import su.izotov.java.objectlr.examples.filename.lang.TextFileName;
+
+/**
+ * the store must return the same names, which are added, keep the equal names once and take
+ * several times less memory, than the objects of the names
+ * @author Vladimir Izotov
+ */
+public class FileNameStoreIT {
+  private static final String[] TEXTS = {
+      "", "simple.FileName", "star*pipe|bslash\\.slash/colon:", "_(STAR)_\n",
+      "latin1 \u00e9\u00ff", "\u0438\u043c\u044f \u6587\u4ef6?", "\ud83d\ude00/\ud83d\ude00",
+      "broken\ud83d", "\udc00broken"};
+  /**
+   * the measured objects are reachable, until the heap is measured
+   */
+  private static Object retained;
+
+  private static String text(final Random random) {
+    final StringBuilder text = new StringBuilder("documents/");
+    final int length = 10 + random.nextInt(30);
+    for (int i = 0; i < length; i++) {
+      text.append((char) ('a' + random.nextInt(26)));
+    }
+    return text.append(random.nextBoolean() ? ".txt" : ":v2.pdf").toString();
+  }
+
+  @Test public void testRoundTrip()
+      throws RecognitionException {
+    Logger.getGlobal().info("roundTrip");
+    final FileNameStore store = new FileNameStore();
+    final int[] handles = new int[TEXTS.length];
+    for (int i = 0; i < TEXTS.length; i++) {
+      handles[i] = store.addText(TEXTS[i]);
+    }
+    for (int i = 0; i < TEXTS.length; i++) {
+      assertEquals(FileNameEncoder.encode(TEXTS[i]), store.fileName(handles[i]));
+      if (!TEXTS[i].isEmpty()) {
+        assertEquals(TEXTS[i], store.text(handles[i]));
+      }
+    }
+    final FileName view = store.get(handles[2]);
+    assertEquals(TEXTS[2], view.toTextRepresentation());
+    assertEquals(FileNameEncoder.encode(TEXTS[2]), view.toStringRepresentation());
+    assertEquals(view.toStringRepresentation(), view.toSource());
+  }
+
+  @Test public void testInterning() {
+    Logger.getGlobal().info("interning");
+    final FileNameStore store = new FileNameStore();
+    final Random random = new Random(20180901L);
+    final List<String> names = new ArrayList<>();
+    final List<Integer> handles = new ArrayList<>();
+    for (int i = 0; i < 50000; i++) {
+      final String name = FileNameEncoder.encode(text(random));
+      names.add(name);
+      handles.add(store.addFileName(name));
+    }
+    final int size = store.size();
+    for (int i = 0; i < names.size(); i++) {
+      // a copy of the name is found by the content
+      assertEquals(handles.get(i).intValue(), store.addFileName(new String(names.get(i))));
+      assertEquals(handles.get(i).intValue(), store.find(names.get(i)));
+      assertEquals(names.get(i), store.fileName(handles.get(i)));
+    }
+    assertEquals(size, store.size());
+    assertEquals(-1, store.find("absent"));
+    assertNotEquals(store.addFileName("a"), store.addFileName("\u0100"));
+  }
+
+  @Test public void testLongNames() {
+    Logger.getGlobal().info("longNames");
+    final FileNameStore store = new FileNameStore(Dialect.OBJECT_STORE);
+    final StringBuilder wide = new StringBuilder();
+    while (wide.length() < 700000) {
+      wide.append("\u0438\u043c\u044f#");
+    }
+    final int before = store.addText("before");
+    final int handle = store.addText(wide.toString());
+    final int after = store.addText("after");
+    assertEquals(Dialect.OBJECT_STORE.encode(wide.toString()), store.fileName(handle));
+    assertEquals("before", store.fileName(before));
+    assertEquals("after", store.fileName(after));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownHandle() {
+    Logger.getGlobal().info("unknownHandle");
+    new FileNameStore().fileName(1 << 25);
+  }
+
+  @Test public void testHandlesPastNames() {
+    Logger.getGlobal().info("handlesPastNames");
+    final FileNameStore store = new FileNameStore();
+    final int first = store.addText("first");
+    final int second = store.addText("second");
+    final char[] wide = new char[1 << 20];
+    Arrays.fill(wide, 'w');
+    final int large = store.addText(new String(wide));
+    final int last = store.addText("last");
+    assertEquals("second", store.fileName(second));
+    assertEquals("last", store.fileName(last));
+    // the first arena is closed after the second name, the last one is open
+    for (final int handle : new int[]{second + 7, second + 100, last + 5, last + 1000}) {
+      try {
+        store.fileName(handle);
+        throw new AssertionError("the handle must be rejected: " + handle);
+      } catch (final IllegalArgumentException e) {
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Unknown handle"));
+      }
+    }
+    assertEquals("first", store.fileName(first));
+    assertEquals(wide.length, store.fileName(large).length());
+  }
+
+  @Test public void testInvalidNameOfDialect()
+      throws RecognitionException {
+    Logger.getGlobal().info("invalidNameOfDialect");
+    final FileNameStore store = new FileNameStore(Dialect.OBJECT_STORE);
+    assertEquals("a#", store.text(store.addFileName("a(HASH)")));
+    final int handle = store.addFileName("b_");
+    try {
+      store.text(handle);
+      throw new AssertionError("the name must be rejected");
+    } catch (final InvalidFileNameException e) {
+      assertEquals(DecodeResult.Error.DANGLING_ESCAPE, e.error());
+      assertEquals(1, e.position());
+      assertEquals(0, e.getStackTrace().length);
+    }
+  }
+
+  /**
+   * the names of a catalog, kept as the pairs of TextFileName and StringFileName, and the
+   * same names in the store
+   */
+  @Test public void testFootprint() {
+    Logger.getGlobal().info("footprint");
+    final int count = 300000;
+    final Random random = new Random(20180902L);
+    final String[] texts = new String[count];
+    for (int i = 0; i < count; i++) {
+      texts[i] = text(random);
+    }
+    final long objectsHeap = footprint(() -> {
+      final FileName[][] objects = new FileName[count][];
+      for (int i = 0; i < count; i++) {
+        final String text = new String(texts[i]);
+        objects[i] = new FileName[]{
+            new TextFileName(text), new StringFileName(FileNameEncoder.encode(text))};
+      }
+      return objects;
+    });
+    final FileNameStore store = new FileNameStore();
+    final long storeHeap = footprint(() -> {
+      final int[] handles = new int[count];
+      for (int i = 0; i < count; i++) {
+        handles[i] = store.addText(texts[i]);
+      }
+      return handles;
+    });
+    Logger.getGlobal().info(String.format(
+        "%d names: objects %d bytes per name, store %d bytes per name (%d counted)", count,
+        objectsHeap / count, storeHeap / count, store.bytes() / count));
+    assertTrue(objectsHeap + " " + storeHeap, 2 * objectsHeap > 5 * storeHeap);
+  }
+
+  /**
+   * @return the bytes of the heap, which are taken by the structure
+   */
+  private static long footprint(final Supplier<Object> structure) {
+    final long before = heap();
+    retained = structure.get();
+    final long after = heap();
+    retained = null;
+    return after - before;
+  }
+
+  /**
+   * @return the used heap after the collection of garbage
+   */
+  private static long heap() {
+    long used = Long.MAX_VALUE;
+    for (int i = 0; i < 5; i++) {
+      System.gc();
+      used = Math.min(
+          used, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+    }
+    return used;
+  }
+}